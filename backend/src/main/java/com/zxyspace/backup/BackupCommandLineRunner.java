@@ -0,0 +1,74 @@
+package com.zxyspace.backup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+// 命令行备份/恢复，执行完成后退出进程，例如：
+// java -jar zxyspace.jar --spring.main.web-application-type=none --backup.export=site.ndjson.gz
+// java -jar zxyspace.jar --spring.main.web-application-type=none --backup.restore=site.ndjson.gz
+@Component
+public class BackupCommandLineRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackupCommandLineRunner.class);
+
+    private static final String EXPORT_OPTION = "backup.export";
+    private static final String RESTORE_OPTION = "backup.restore";
+
+    private final SiteBackup siteBackup;
+    private final ConfigurableApplicationContext context;
+
+    public BackupCommandLineRunner(SiteBackup siteBackup, ConfigurableApplicationContext context) {
+        this.siteBackup = siteBackup;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String exportPath = optionValue(args, EXPORT_OPTION);
+        String restorePath = optionValue(args, RESTORE_OPTION);
+        if (exportPath == null && restorePath == null) {
+            return;
+        }
+
+        int exitCode = 0;
+        try {
+            if (exportPath != null) {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Path.of(exportPath)))) {
+                    Map<String, Long> counts = siteBackup.export(out);
+                    logger.info("备份已写入 {}：{}", exportPath, counts);
+                }
+            } else {
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(restorePath)))) {
+                    Map<String, Long> counts = siteBackup.restore(in);
+                    logger.info("已从 {} 恢复：{}", restorePath, counts);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.error("备份/恢复失败：" + ex.getMessage(), ex);
+            exitCode = 1;
+        }
+
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    private static String optionValue(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+}
@@ -0,0 +1,141 @@
+package com.zxyspace.backup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 备份包含的表及列，按外键依赖顺序排列：恢复时依次插入，被引用的表在前
+public enum BackupTable {
+
+    USERS("users", "users_seq",
+            column("id", ColumnType.LONG),
+            column("created_at", ColumnType.TIMESTAMP),
+            column("updated_at", ColumnType.TIMESTAMP),
+            column("username", ColumnType.STRING),
+            column("password", ColumnType.STRING),
+            column("first_name", ColumnType.STRING),
+            column("last_name", ColumnType.STRING),
+            column("email", ColumnType.STRING),
+            column("avatar_url", ColumnType.STRING),
+            column("bio", ColumnType.STRING),
+            column("role", ColumnType.STRING)),
+    CATEGORIES("categories", "categories_seq",
+            column("id", ColumnType.LONG),
+            column("created_at", ColumnType.TIMESTAMP),
+            column("updated_at", ColumnType.TIMESTAMP),
+            column("name", ColumnType.STRING),
+            column("description", ColumnType.STRING)),
+    TAGS("tags", "tags_seq",
+            column("id", ColumnType.LONG),
+            column("created_at", ColumnType.TIMESTAMP),
+            column("updated_at", ColumnType.TIMESTAMP),
+            column("name", ColumnType.STRING)),
+    POSTS("posts", "posts_seq",
+            column("id", ColumnType.LONG),
+            column("created_at", ColumnType.TIMESTAMP),
+            column("updated_at", ColumnType.TIMESTAMP),
+            column("title", ColumnType.STRING),
+            column("excerpt", ColumnType.STRING),
+            column("cover_image", ColumnType.STRING),
+            column("author_id", ColumnType.LONG),
+            column("category_id", ColumnType.LONG),
+            column("published", ColumnType.BOOLEAN),
+            column("views", ColumnType.INT),
+            column("likes", ColumnType.INT),
+            column("comment_count", ColumnType.INT)),
+    // 只备份Markdown原文；渲染出的HTML、目录等派生列恢复后为空，下次启动时由PostBodyRenderJob重新生成
+    POST_BODIES("post_bodies", null,
+            column("post_id", ColumnType.LONG),
+            column("encoding", ColumnType.STRING),
+            column("data", ColumnType.BYTES)),
+    POST_TAGS("post_tags", null,
+            column("post_id", ColumnType.LONG),
+            column("tag_id", ColumnType.LONG)),
+    COMMENTS("comments", "comments_seq",
+            column("id", ColumnType.LONG),
+            column("created_at", ColumnType.TIMESTAMP),
+            column("updated_at", ColumnType.TIMESTAMP),
+            column("content", ColumnType.STRING),
+            column("post_id", ColumnType.LONG),
+            column("user_id", ColumnType.LONG),
+            column("likes", ColumnType.INT),
+            column("parent_id", ColumnType.LONG),
+            column("thread_id", ColumnType.LONG),
+            column("path", ColumnType.STRING),
+            column("reply_count", ColumnType.INT)),
+    POST_LIKES("post_likes", "post_likes_seq",
+            column("id", ColumnType.LONG),
+            column("created_at", ColumnType.TIMESTAMP),
+            column("updated_at", ColumnType.TIMESTAMP),
+            column("post_id", ColumnType.LONG),
+            column("user_id", ColumnType.LONG)),
+    COMMENT_LIKES("comment_likes", "comment_likes_seq",
+            column("id", ColumnType.LONG),
+            column("created_at", ColumnType.TIMESTAMP),
+            column("updated_at", ColumnType.TIMESTAMP),
+            column("comment_id", ColumnType.LONG),
+            column("user_id", ColumnType.LONG));
+
+    public enum ColumnType {
+        LONG,
+        INT,
+        BOOLEAN,
+        STRING,
+        TIMESTAMP,
+        BYTES
+    }
+
+    public record Column(String name, ColumnType type) {
+    }
+
+    private final String tableName;
+    // 主键序列名（Hibernate默认的<表名>_seq），恢复后需要把序列推进到最大ID之后；联结表和正文表没有主键序列
+    private final String sequenceName;
+    private final List<Column> columns;
+
+    BackupTable(String tableName, String sequenceName, Column... columns) {
+        this.tableName = tableName;
+        this.sequenceName = sequenceName;
+        this.columns = List.of(columns);
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getSequenceName() {
+        return sequenceName;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    // 按主键顺序导出，联结表按两列顺序导出，正文表按文章ID导出，保证游标读取稳定
+    public String selectSql() {
+        String orderBy = sequenceName != null ? "id"
+                : this == POST_BODIES ? "post_id"
+                : columns.get(0).name() + ", " + columns.get(1).name();
+        return "SELECT " + columnList() + " FROM " + tableName + " ORDER BY " + orderBy;
+    }
+
+    public String insertSql() {
+        String placeholders = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+        return "INSERT INTO " + tableName + " (" + columnList() + ") VALUES (" + placeholders + ")";
+    }
+
+    public static BackupTable fromTableName(String tableName) {
+        return Arrays.stream(values())
+                .filter(table -> table.tableName.equals(tableName))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private String columnList() {
+        return columns.stream().map(Column::name).collect(Collectors.joining(", "));
+    }
+
+    private static Column column(String name, ColumnType type) {
+        return new Column(name, type);
+    }
+}
@@ -0,0 +1,276 @@
+package com.zxyspace.backup;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zxyspace.backup.BackupTable.Column;
+import com.zxyspace.backup.BackupTable.ColumnType;
+import com.zxyspace.exception.BusinessException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.BasicTypeReference;
+import org.hibernate.type.StandardBasicTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// 全站备份与恢复：gzip压缩的NDJSON，首行为头记录，其后每行一条表记录；导出和恢复都是流式的，内存占用与数据量无关
+@Component
+public class SiteBackup {
+
+    private static final Logger logger = LoggerFactory.getLogger(SiteBackup.class);
+
+    private static final String FORMAT = "zxyspace-backup";
+    // 版本2：文章正文拆到post_bodies表，按存储编码原样导出字节
+    // 版本3：评论增加回复关系列（parent_id、thread_id、path、reply_count）
+    private static final int VERSION = 3;
+    private static final String TYPE_FIELD = "t";
+    private static final String HEADER_TYPE = "header";
+    private static final int BUFFER_BYTES = 64 * 1024;
+    // 与BaseEntity主键序列的池化步长一致（Hibernate默认值）
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private final SessionFactory sessionFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final int batchSize;
+
+    public SiteBackup(EntityManagerFactory entityManagerFactory,
+                      JdbcTemplate jdbcTemplate,
+                      PlatformTransactionManager transactionManager,
+                      ObjectMapper objectMapper,
+                      @Value("${backup.fetch-size:1000}") int fetchSize,
+                      @Value("${backup.batch-size:1000}") int batchSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+    }
+
+    // 导出全部表，返回各表的行数；不关闭传入的输出流
+    public Map<String, Long> export(OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_BYTES);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        generator.writeStartObject();
+        generator.writeStringField(TYPE_FIELD, HEADER_TYPE);
+        generator.writeStringField("format", FORMAT);
+        generator.writeNumberField("version", VERSION);
+        generator.writeStringField("createdAt", LocalDateTime.now().toString());
+        generator.writeEndObject();
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        // 无状态会话没有一级缓存，逐行滚动读取时不会积累实体；所有表在同一个只读事务中读取，保证快照一致
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                for (BackupTable table : BackupTable.values()) {
+                    counts.put(table.getTableName(), exportTable(session, table, generator));
+                }
+            } finally {
+                transaction.rollback();
+            }
+        }
+
+        generator.writeRaw('\n');
+        generator.close();
+        gzip.finish();
+        logger.info("全站备份导出完成：{}", counts);
+        return counts;
+    }
+
+    // 恢复到空数据库：逐行解析，按表分批用JDBC批量插入，每批单独提交
+    public Map<String, Long> restore(InputStream in) throws IOException {
+        requireEmptyDatabase();
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        try (MappingIterator<JsonNode> records = objectMapper.readerFor(JsonNode.class)
+                .readValues(new GZIPInputStream(in, BUFFER_BYTES))) {
+            readHeader(records);
+            BackupTable current = null;
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            while (records.hasNext()) {
+                JsonNode record = records.next();
+                BackupTable table = BackupTable.fromTableName(record.path(TYPE_FIELD).asText());
+                if (table == null) {
+                    throw new BusinessException("备份文件包含未知的记录类型：" + record.path(TYPE_FIELD).asText(),
+                            "INVALID_BACKUP");
+                }
+                if (table != current) {
+                    insertBatch(current, batch);
+                    current = table;
+                }
+                batch.add(toArguments(table, record));
+                counts.merge(table.getTableName(), 1L, Long::sum);
+                if (batch.size() >= batchSize) {
+                    insertBatch(current, batch);
+                }
+            }
+            insertBatch(current, batch);
+        }
+
+        advanceSequences();
+        logger.info("全站备份恢复完成：{}", counts);
+        return counts;
+    }
+
+    private long exportTable(StatelessSession session, BackupTable table, JsonGenerator generator) throws IOException {
+        NativeQuery<Object[]> query = session.createNativeQuery(table.selectSql(), Object[].class);
+        for (Column column : table.getColumns()) {
+            query.addScalar(column.name(), scalarType(column.type()));
+        }
+        query.setFetchSize(fetchSize);
+        query.setReadOnly(true);
+
+        long count = 0;
+        try (ScrollableResults<Object[]> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                writeRow(generator, table, rows.get());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void writeRow(JsonGenerator generator, BackupTable table, Object[] row) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(TYPE_FIELD, table.getTableName());
+        List<Column> columns = table.getColumns();
+        for (int i = 0; i < columns.size(); i++) {
+            generator.writeFieldName(columns.get(i).name());
+            Object value = row[i];
+            if (value == null) {
+                generator.writeNull();
+                continue;
+            }
+            switch (columns.get(i).type()) {
+                case LONG, INT -> generator.writeNumber(((Number) value).longValue());
+                case BOOLEAN -> generator.writeBoolean((Boolean) value);
+                case STRING -> generator.writeString((String) value);
+                case TIMESTAMP -> generator.writeString(value.toString());
+                case BYTES -> generator.writeBinary((byte[]) value);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static Object[] toArguments(BackupTable table, JsonNode record) {
+        List<Column> columns = table.getColumns();
+        Object[] arguments = new Object[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            JsonNode value = record.get(columns.get(i).name());
+            if (value == null || value.isNull()) {
+                continue;
+            }
+            arguments[i] = switch (columns.get(i).type()) {
+                case LONG -> value.asLong();
+                case INT -> value.asInt();
+                case BOOLEAN -> value.asBoolean();
+                case STRING -> value.asText();
+                case TIMESTAMP -> Timestamp.valueOf(LocalDateTime.parse(value.asText()));
+                case BYTES -> binaryOf(value);
+            };
+        }
+        return arguments;
+    }
+
+    private static byte[] binaryOf(JsonNode value) {
+        try {
+            return value.binaryValue();
+        } catch (IOException ex) {
+            throw new BusinessException("备份文件中的二进制字段无效", "INVALID_BACKUP");
+        }
+    }
+
+    private void readHeader(MappingIterator<JsonNode> records) {
+        JsonNode header = records.hasNext() ? records.next() : null;
+        if (header == null || !HEADER_TYPE.equals(header.path(TYPE_FIELD).asText())
+                || !FORMAT.equals(header.path("format").asText())) {
+            throw new BusinessException("不是有效的备份文件", "INVALID_BACKUP");
+        }
+        if (header.path("version").asInt() != VERSION) {
+            throw new BusinessException("不支持的备份版本：" + header.path("version").asInt(), "INVALID_BACKUP");
+        }
+    }
+
+    private void insertBatch(BackupTable table, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(table.insertSql(), batch));
+        batch.clear();
+    }
+
+    // 恢复保留原ID，只允许在空库上进行，避免与现有数据冲突
+    private void requireEmptyDatabase() {
+        for (BackupTable table : BackupTable.values()) {
+            if (!jdbcTemplate.queryForList("SELECT 1 FROM " + table.getTableName() + " LIMIT 1").isEmpty()) {
+                throw new BusinessException("只能恢复到空数据库，表 " + table.getTableName() + " 中已有数据",
+                        "BACKUP_TARGET_NOT_EMPTY");
+            }
+        }
+    }
+
+    // 显式插入ID后推进主键序列：池化优化器取到序列值V后分配(V-步长, V]区间的ID，因此序列需从最大ID加步长处继续
+    private void advanceSequences() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        for (BackupTable table : BackupTable.values()) {
+            if (table.getSequenceName() == null) {
+                continue;
+            }
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table.getTableName(), Long.class);
+            if (maxId == null) {
+                continue;
+            }
+            long nextValue = maxId + ID_ALLOCATION_SIZE;
+            if ("H2".equals(product)) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + table.getSequenceName() + " RESTART WITH " + nextValue);
+            } else {
+                // MySQL没有序列，Hibernate用单行单列(next_val)的表模拟
+                jdbcTemplate.update("UPDATE " + table.getSequenceName() + " SET next_val = ?", nextValue);
+            }
+        }
+    }
+
+    private static BasicTypeReference<?> scalarType(ColumnType type) {
+        return switch (type) {
+            case LONG -> StandardBasicTypes.LONG;
+            case INT -> StandardBasicTypes.INTEGER;
+            case BOOLEAN -> StandardBasicTypes.BOOLEAN;
+            case STRING -> StandardBasicTypes.STRING;
+            case TIMESTAMP -> StandardBasicTypes.LOCAL_DATE_TIME;
+            case BYTES -> StandardBasicTypes.BINARY;
+        };
+    }
+}
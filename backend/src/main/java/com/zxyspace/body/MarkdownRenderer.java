@@ -0,0 +1,843 @@
+package com.zxyspace.body;
+
+import com.zxyspace.dto.TocEntryDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Markdown渲染：支持文章中用到的常见语法（标题、段落、列表、引用、代码块、表格、强调、链接、图片）；
+// 原始HTML一律转义输出，链接只允许http/https/mailto和站内地址，输出的标签和属性都由渲染器生成，无需再做清洗
+public final class MarkdownRenderer {
+
+    // 渲染规则变更时递增，启动时PostBodyRenderJob会重新渲染旧版本的正文
+    public static final int VERSION = 1;
+
+    // 目录收录的最大标题级别
+    private static final int TOC_MAX_LEVEL = 3;
+    // 阅读速度：中日韩文字按字计，其他按词计
+    private static final double CJK_CHARS_PER_MINUTE = 400;
+    private static final double WORDS_PER_MINUTE = 200;
+    // 引用和行内标记（强调、链接）合计的最大嵌套层数，更深的标记按普通文本转义输出，递归深度不随正文内容增长
+    private static final int MAX_NESTING = 16;
+
+    // 标题、分隔线和表格分隔行由手写的线性匹配判断：对应的正则在超长行上会逐字符递归（栈溢出）或反复回溯
+    private static final Pattern FENCE = Pattern.compile("^ {0,3}(`{3,}|~{3,})[ \\t]*([^`\\s]*).*$");
+    private static final Pattern QUOTE = Pattern.compile("^ {0,3}> ?(.*)$");
+    private static final Pattern BULLET = Pattern.compile("^ {0,3}[-*+][ \\t]+(.*)$");
+    private static final Pattern ORDERED = Pattern.compile("^ {0,3}(\\d{1,9})[.)][ \\t]+(.*)$");
+    private static final Pattern TASK = Pattern.compile("^\\[([ xX])][ \\t]+(.*)$");
+    private static final Pattern SAFE_LANGUAGE = Pattern.compile("[A-Za-z0-9_+#-]{1,32}");
+    private static final Pattern URL_SCHEME = Pattern.compile("^([A-Za-z][A-Za-z0-9+.-]*):");
+
+    private StringBuilder html = new StringBuilder();
+    private final StringBuilder text = new StringBuilder();
+    private final List<TocEntryDto> toc = new ArrayList<>();
+    private final Map<String, Integer> anchors = new HashMap<>();
+    // 当前所在的引用和行内标记嵌套层数
+    private int depth;
+
+    private MarkdownRenderer() {
+    }
+
+    public static RenderedBody render(String markdown) {
+        MarkdownRenderer renderer = new MarkdownRenderer();
+        String normalized = markdown == null ? "" : markdown.replace("\r\n", "\n").replace('\r', '\n');
+        renderer.renderBlocks(normalized.split("\n", -1));
+        int[] counts = countWords(renderer.text);
+        int wordCount = counts[0] + counts[1];
+        int readingMinutes = wordCount == 0 ? 0
+                : (int) Math.max(1, Math.ceil(counts[0] / CJK_CHARS_PER_MINUTE + counts[1] / WORDS_PER_MINUTE));
+        return new RenderedBody(renderer.html.toString(), List.copyOf(renderer.toc), wordCount, readingMinutes);
+    }
+
+    // 渲染结果：HTML、目录、字数（中日韩按字、其他按词）和预计阅读分钟数
+    public record RenderedBody(String html, List<TocEntryDto> toc, int wordCount, int readingMinutes) {
+    }
+
+    private void renderBlocks(String[] lines) {
+        List<String> paragraph = new ArrayList<>();
+        int i = 0;
+        while (i < lines.length) {
+            String line = lines[i];
+            Matcher matcher;
+            Heading heading;
+
+            if (line.isBlank()) {
+                flushParagraph(paragraph);
+                i++;
+            } else if ((matcher = FENCE.matcher(line)).matches()) {
+                flushParagraph(paragraph);
+                i = renderFence(lines, i, matcher.group(1), matcher.group(2));
+            } else if ((heading = parseHeading(line)) != null) {
+                flushParagraph(paragraph);
+                renderHeading(heading.level(), heading.content());
+                i++;
+            } else if (isRule(line)) {
+                flushParagraph(paragraph);
+                html.append("<hr />\n");
+                i++;
+            } else if (depth < MAX_NESTING && QUOTE.matcher(line).matches()) {
+                flushParagraph(paragraph);
+                i = renderQuote(lines, i);
+            } else if (BULLET.matcher(line).matches() || ORDERED.matcher(line).matches()) {
+                flushParagraph(paragraph);
+                i = renderList(lines, i);
+            } else if (line.contains("|") && i + 1 < lines.length && paragraph.isEmpty()
+                    && isTableDelimiter(lines[i + 1])) {
+                i = renderTable(lines, i);
+            } else {
+                paragraph.add(line.strip());
+                i++;
+            }
+        }
+        flushParagraph(paragraph);
+    }
+
+    private void flushParagraph(List<String> paragraph) {
+        if (paragraph.isEmpty()) {
+            return;
+        }
+        html.append("<p>");
+        renderInline(String.join("\n", paragraph));
+        html.append("</p>\n");
+        text.append('\n');
+        paragraph.clear();
+    }
+
+    private int renderFence(String[] lines, int start, String fence, String language) {
+        html.append("<pre><code");
+        if (!language.isEmpty() && SAFE_LANGUAGE.matcher(language).matches()) {
+            html.append(" class=\"language-").append(language.toLowerCase(Locale.ROOT)).append('"');
+        }
+        html.append('>');
+        int i = start + 1;
+        StringBuilder code = new StringBuilder();
+        while (i < lines.length && !isClosingFence(lines[i], fence)) {
+            code.append(lines[i]).append('\n');
+            i++;
+        }
+        escapeTo(html, code);
+        text.append(code);
+        html.append("</code></pre>\n");
+        // 未闭合的代码块延续到正文末尾
+        return Math.min(i + 1, lines.length);
+    }
+
+    private static boolean isClosingFence(String line, String fence) {
+        String stripped = line.strip();
+        return stripped.length() >= fence.length() && stripped.chars().allMatch(c -> c == fence.charAt(0));
+    }
+
+    // ATX标题：至多3个空格缩进、1至6个#，其后为空或以空白开头；去掉结尾由空白隔开的一串#（可选的闭合标记）
+    private static Heading parseHeading(String line) {
+        int start = leadingSpaces(line);
+        int end = start;
+        while (end < line.length() && line.charAt(end) == '#') {
+            end++;
+        }
+        int level = end - start;
+        if (level == 0 || level > 6 || end < line.length() && !isBlank(line.charAt(end))) {
+            return null;
+        }
+        int contentStart = end;
+        while (contentStart < line.length() && isBlank(line.charAt(contentStart))) {
+            contentStart++;
+        }
+        int contentEnd = line.length();
+        while (contentEnd > contentStart && isBlank(line.charAt(contentEnd - 1))) {
+            contentEnd--;
+        }
+        int closing = contentEnd;
+        while (closing > contentStart && line.charAt(closing - 1) == '#') {
+            closing--;
+        }
+        if (closing < contentEnd && closing > contentStart && isBlank(line.charAt(closing - 1))) {
+            contentEnd = closing;
+            while (isBlank(line.charAt(contentEnd - 1))) {
+                contentEnd--;
+            }
+        }
+        return new Heading(level, line.substring(contentStart, contentEnd));
+    }
+
+    private record Heading(int level, String content) {
+    }
+
+    // 分隔线：至多3个空格缩进，同一种标记（-、*、_）至少3个，其间只允许空白
+    private static boolean isRule(String line) {
+        int i = leadingSpaces(line);
+        if (i >= line.length() || "-*_".indexOf(line.charAt(i)) < 0) {
+            return false;
+        }
+        char marker = line.charAt(i);
+        int markers = 0;
+        for (; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == marker) {
+                markers++;
+            } else if (!isBlank(c)) {
+                return false;
+            }
+        }
+        return markers >= 3;
+    }
+
+    // 表格分隔行：可选的首尾竖线，各单元格为 :?-+:? 并可带空白，例如 | :--- | ---: |
+    private static boolean isTableDelimiter(String line) {
+        int start = leadingSpaces(line);
+        if (start < line.length() && line.charAt(start) == '|') {
+            start++;
+        }
+        int end = line.length();
+        while (end > start && isBlank(line.charAt(end - 1))) {
+            end--;
+        }
+        if (end > start && line.charAt(end - 1) == '|') {
+            end--;
+        }
+        int cellStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || line.charAt(i) == '|') {
+                if (!isDelimiterCell(line, cellStart, i)) {
+                    return false;
+                }
+                cellStart = i + 1;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDelimiterCell(String line, int start, int end) {
+        while (start < end && isBlank(line.charAt(start))) {
+            start++;
+        }
+        while (end > start && isBlank(line.charAt(end - 1))) {
+            end--;
+        }
+        if (start < end && line.charAt(start) == ':') {
+            start++;
+        }
+        if (end > start && line.charAt(end - 1) == ':') {
+            end--;
+        }
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (line.charAt(i) != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int leadingSpaces(String line) {
+        int i = 0;
+        while (i < 3 && i < line.length() && line.charAt(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    // 锚点由标题的纯文本生成（不含链接地址等标记），因此先把标题内容渲染到临时缓冲区，再输出开始标签
+    private void renderHeading(int level, String content) {
+        StringBuilder outer = html;
+        html = new StringBuilder();
+        int textStart = text.length();
+        renderInline(content);
+        String inner = html.toString();
+        html = outer;
+        String title = text.substring(textStart).strip();
+        String anchor = anchorFor(title);
+        html.append("<h").append(level).append(" id=\"").append(anchor).append("\">").append(inner);
+        html.append("</h").append(level).append(">\n");
+        if (level <= TOC_MAX_LEVEL) {
+            toc.add(new TocEntryDto(level, anchor, title));
+        }
+        text.append('\n');
+    }
+
+    // 锚点：保留字母数字（含中文）和连字符，空白转为连字符，重复的锚点追加序号
+    private String anchorFor(String content) {
+        StringBuilder slug = new StringBuilder();
+        content.toLowerCase(Locale.ROOT).codePoints().forEach(c -> {
+            if (Character.isLetterOrDigit(c) || c == '-' || c == '_') {
+                slug.appendCodePoint(c);
+            } else if (Character.isWhitespace(c) && slug.length() > 0 && slug.charAt(slug.length() - 1) != '-') {
+                slug.append('-');
+            }
+        });
+        while (slug.length() > 0 && slug.charAt(slug.length() - 1) == '-') {
+            slug.setLength(slug.length() - 1);
+        }
+        String base = slug.length() > 0 ? slug.toString() : "section";
+        int seen = anchors.merge(base, 1, Integer::sum);
+        return seen == 1 ? base : base + "-" + (seen - 1);
+    }
+
+    private int renderQuote(String[] lines, int start) {
+        List<String> inner = new ArrayList<>();
+        int i = start;
+        Matcher matcher;
+        while (i < lines.length && (matcher = QUOTE.matcher(lines[i])).matches()) {
+            inner.add(matcher.group(1));
+            i++;
+        }
+        html.append("<blockquote>\n");
+        depth++;
+        renderBlocks(inner.toArray(new String[0]));
+        depth--;
+        html.append("</blockquote>\n");
+        return i;
+    }
+
+    // 列表：连续的列表项合并为一个列表，项目符号类型变化时另起一个列表；不支持嵌套，缩进的子项按同级输出
+    private int renderList(String[] lines, int start) {
+        int i = start;
+        Boolean ordered = null;
+        while (i < lines.length) {
+            Matcher bullet = BULLET.matcher(lines[i]);
+            Matcher number = ORDERED.matcher(lines[i]);
+            boolean isBullet = bullet.matches();
+            boolean isNumber = !isBullet && number.matches();
+            if (!isBullet && !isNumber) {
+                break;
+            }
+            if (ordered == null || ordered != isNumber) {
+                if (ordered != null) {
+                    html.append(ordered ? "</ol>\n" : "</ul>\n");
+                }
+                ordered = isNumber;
+                if (isNumber && !"1".equals(number.group(1))) {
+                    html.append("<ol start=\"").append(Integer.parseInt(number.group(1))).append("\">\n");
+                } else {
+                    html.append(isNumber ? "<ol>\n" : "<ul>\n");
+                }
+            }
+            StringBuilder item = new StringBuilder(isNumber ? number.group(2) : bullet.group(1));
+            i++;
+            // 紧随其后、不是新列表项的非空行属于当前项
+            while (i < lines.length && !lines[i].isBlank() && !BULLET.matcher(lines[i]).matches()
+                    && !ORDERED.matcher(lines[i]).matches() && !FENCE.matcher(lines[i]).matches()
+                    && parseHeading(lines[i]) == null && !QUOTE.matcher(lines[i]).matches()) {
+                item.append('\n').append(lines[i].strip());
+                i++;
+            }
+            renderListItem(item.toString());
+        }
+        html.append(Boolean.TRUE.equals(ordered) ? "</ol>\n" : "</ul>\n");
+        return i;
+    }
+
+    private void renderListItem(String item) {
+        html.append("<li>");
+        Matcher task = TASK.matcher(item);
+        if (task.matches()) {
+            html.append(" ".equals(task.group(1))
+                    ? "<input type=\"checkbox\" disabled /> "
+                    : "<input type=\"checkbox\" checked disabled /> ");
+            renderInline(task.group(2));
+        } else {
+            renderInline(item);
+        }
+        html.append("</li>\n");
+        text.append('\n');
+    }
+
+    private int renderTable(String[] lines, int start) {
+        List<String> header = splitRow(lines[start]);
+        List<String> alignments = new ArrayList<>();
+        for (String cell : splitRow(lines[start + 1])) {
+            boolean left = cell.startsWith(":");
+            boolean right = cell.endsWith(":");
+            alignments.add(left && right ? "center" : right ? "right" : left ? "left" : null);
+        }
+
+        html.append("<table>\n<thead>\n");
+        renderRow(header, alignments, "th");
+        html.append("</thead>\n");
+        int i = start + 2;
+        boolean body = false;
+        while (i < lines.length && !lines[i].isBlank() && lines[i].contains("|")) {
+            if (!body) {
+                html.append("<tbody>\n");
+                body = true;
+            }
+            renderRow(splitRow(lines[i]), alignments, "td");
+            i++;
+        }
+        if (body) {
+            html.append("</tbody>\n");
+        }
+        html.append("</table>\n");
+        return i;
+    }
+
+    private void renderRow(List<String> cells, List<String> alignments, String tag) {
+        html.append("<tr>");
+        for (int column = 0; column < alignments.size(); column++) {
+            String alignment = alignments.get(column);
+            html.append('<').append(tag);
+            if (alignment != null) {
+                html.append(" style=\"text-align: ").append(alignment).append('"');
+            }
+            html.append('>');
+            renderInline(column < cells.size() ? cells.get(column) : "");
+            html.append("</").append(tag).append('>');
+            text.append(' ');
+        }
+        html.append("</tr>\n");
+        text.append('\n');
+    }
+
+    // 按未转义的竖线切分表格行，去掉首尾的边框竖线
+    private static List<String> splitRow(String line) {
+        String row = line.strip();
+        if (row.startsWith("|")) {
+            row = row.substring(1);
+        }
+        if (row.endsWith("|") && !row.endsWith("\\|")) {
+            row = row.substring(0, row.length() - 1);
+        }
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (c == '\\' && i + 1 < row.length() && row.charAt(i + 1) == '|') {
+                cell.append('|');
+                i++;
+            } else if (c == '|') {
+                cells.add(cell.toString().strip());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString().strip());
+        return cells;
+    }
+
+    private void renderInline(String source) {
+        InlineScan scan = new InlineScan(source);
+        int i = 0;
+        int length = source.length();
+        while (i < length) {
+            char c = source.charAt(i);
+            int next;
+            if (c == '\\' && i + 1 < length && isEscapable(source.charAt(i + 1))) {
+                appendText(String.valueOf(source.charAt(i + 1)));
+                i += 2;
+            } else if (c == '`' && (next = renderCodeSpan(scan, i)) > i) {
+                i = next;
+            } else if (c == '!' && i + 1 < length && source.charAt(i + 1) == '['
+                    && (next = renderLink(scan, i + 1, true)) > i) {
+                i = next;
+            } else if (c == '[' && (next = renderLink(scan, i, false)) > i) {
+                i = next;
+            } else if (c == '<' && (next = renderAutolink(scan, i)) > i) {
+                i = next;
+            } else if ((c == '*' || c == '_' || c == '~') && (next = renderEmphasis(scan, i)) > i) {
+                i = next;
+            } else if (c == '\n') {
+                html.append('\n');
+                text.append('\n');
+                i++;
+            } else {
+                appendText(String.valueOf(c));
+                i++;
+            }
+        }
+    }
+
+    // 一段行内文本的扫描状态：括号配对和各强调标记的闭合位置按需一次算出并复用，
+    // 避免每个开始标记都向后扫描到末尾（平方级耗时）
+    private static final class InlineScan {
+
+        private static final int UNKNOWN = -2;
+
+        private final String source;
+        private int[] brackets;
+        private int[] parentheses;
+        // 强调标记 -> 从各位置起查找到的闭合位置（-1表示没有）
+        private final Map<String, int[]> closings = new HashMap<>();
+        // 代码标记 -> 最早一次找不到闭合标记时的查找起点
+        private final Map<String, Integer> unclosedFences = new HashMap<>();
+        // 自动链接：最近一次查找的起点及从该处起第一个'>'、第一个空白的位置（-1表示没有，-2表示尚未查找）
+        private int closeFrom;
+        private int close = -2;
+        private int whitespaceFrom;
+        private int whitespace = -2;
+
+        private InlineScan(String source) {
+            this.source = source;
+        }
+
+        private int closingBracket(int open) {
+            if (brackets == null) {
+                brackets = matchPairs(source, '[', ']', false);
+            }
+            return brackets[open];
+        }
+
+        private int closingParenthesis(int open) {
+            if (parentheses == null) {
+                parentheses = matchPairs(source, '(', ')', true);
+            }
+            return parentheses[open];
+        }
+
+        private boolean knownUnclosed(String fence, int from) {
+            Integer failedFrom = unclosedFences.get(fence);
+            return failedFrom != null && from >= failedFrom;
+        }
+
+        private void markUnclosed(String fence, int from) {
+            unclosedFences.merge(fence, from, Math::min);
+        }
+
+        // 从from起的闭合标记位置。查找每一步只取决于当前位置，因此途经位置的结果都相同：
+        // 先走到闭合标记或已有结果的位置，再把结果记到沿途各位置，之后的查找走到这些位置即可停下
+        private int closing(String delimiter, int from) {
+            int[] memo = closings.computeIfAbsent(delimiter, key -> {
+                int[] positions = new int[source.length()];
+                Arrays.fill(positions, UNKNOWN);
+                return positions;
+            });
+            int stop = from;
+            while (stop < source.length() && memo[stop] == UNKNOWN) {
+                int next = advance(stop, delimiter);
+                if (next < 0) {
+                    break;
+                }
+                stop = next;
+            }
+            int result = stop >= source.length() ? -1 : memo[stop] != UNKNOWN ? memo[stop] : stop;
+            for (int i = from; i < source.length() && memo[i] == UNKNOWN; i = advance(i, delimiter)) {
+                memo[i] = result;
+                if (i == stop) {
+                    break;
+                }
+            }
+            return result;
+        }
+
+        // 查找闭合标记的下一步位置，i处即为闭合标记时返回-1；转义字符和代码片段整体跳过
+        private int advance(int i, String delimiter) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                return i + 2;
+            }
+            if (c == '`') {
+                int close = source.indexOf('`', i + 1);
+                return close < 0 ? i + 1 : close + 1;
+            }
+            if (source.startsWith(delimiter, i) && !Character.isWhitespace(source.charAt(i - 1))) {
+                boolean longer = i + delimiter.length() < source.length()
+                        && source.charAt(i + delimiter.length()) == delimiter.charAt(0);
+                // 单字符标记不匹配双字符标记的一部分，例如*斜体*不在**处闭合
+                return delimiter.length() == 1 && longer ? i + 2 : -1;
+            }
+            return i + 1;
+        }
+
+        // 从from起第一个'>'，查找起点单调后移，上次结果在越过它之前都可复用
+        private int nextClose(int from) {
+            if (close == -2 || from < closeFrom || close >= 0 && close < from) {
+                closeFrom = from;
+                close = source.indexOf('>', from);
+            }
+            return close;
+        }
+
+        private int nextWhitespace(int from) {
+            if (whitespace == -2 || from < whitespaceFrom || whitespace >= 0 && whitespace < from) {
+                whitespaceFrom = from;
+                whitespace = -1;
+                for (int i = from; i < source.length(); i++) {
+                    if (Character.isWhitespace(source.charAt(i))) {
+                        whitespace = i;
+                        break;
+                    }
+                }
+            }
+            return whitespace;
+        }
+    }
+
+    private int renderCodeSpan(InlineScan scan, int start) {
+        String source = scan.source;
+        int ticks = 0;
+        while (start + ticks < source.length() && source.charAt(start + ticks) == '`') {
+            ticks++;
+        }
+        String fence = "`".repeat(ticks);
+        int close = scan.knownUnclosed(fence, start + ticks) ? -1 : source.indexOf(fence, start + ticks);
+        if (close < 0) {
+            scan.markUnclosed(fence, start + ticks);
+            appendText(fence);
+            return start + ticks;
+        }
+        String code = source.substring(start + ticks, close).strip();
+        html.append("<code>");
+        escapeTo(html, code);
+        html.append("</code>");
+        text.append(code);
+        return close + ticks;
+    }
+
+    // [文本](地址 "标题") 与 ![替代文本](地址)；地址不安全时只输出文本；超过嵌套上限时不再识别为链接
+    private int renderLink(InlineScan scan, int start, boolean image) {
+        if (depth >= MAX_NESTING) {
+            return -1;
+        }
+        String source = scan.source;
+        int labelEnd = scan.closingBracket(start);
+        if (labelEnd < 0 || labelEnd + 1 >= source.length() || source.charAt(labelEnd + 1) != '(') {
+            return -1;
+        }
+        int targetEnd = scan.closingParenthesis(labelEnd + 1);
+        if (targetEnd < 0) {
+            return -1;
+        }
+        String label = source.substring(start + 1, labelEnd);
+        String target = source.substring(labelEnd + 2, targetEnd).strip();
+        String title = null;
+        int space = target.indexOf(' ');
+        if (space > 0) {
+            String rest = target.substring(space + 1).strip();
+            if (rest.length() >= 2 && (rest.startsWith("\"") && rest.endsWith("\"")
+                    || rest.startsWith("'") && rest.endsWith("'"))) {
+                title = rest.substring(1, rest.length() - 1);
+            }
+            target = target.substring(0, space);
+        }
+        if (target.startsWith("<") && target.endsWith(">")) {
+            target = target.substring(1, target.length() - 1);
+        }
+        String url = safeUrl(target);
+
+        if (image) {
+            if (url == null) {
+                appendText(label);
+            } else {
+                html.append("<img src=\"");
+                escapeTo(html, url);
+                html.append("\" alt=\"");
+                escapeTo(html, label);
+                html.append('"');
+                appendTitle(title);
+                html.append(" loading=\"lazy\" />");
+            }
+            return targetEnd + 1;
+        }
+
+        if (url == null) {
+            renderNested(label);
+            return targetEnd + 1;
+        }
+        html.append("<a href=\"");
+        escapeTo(html, url);
+        html.append('"');
+        appendTitle(title);
+        if (isExternal(url)) {
+            html.append(" rel=\"nofollow noopener noreferrer\" target=\"_blank\"");
+        }
+        html.append('>');
+        renderNested(label);
+        html.append("</a>");
+        return targetEnd + 1;
+    }
+
+    private void appendTitle(String title) {
+        if (title != null) {
+            html.append(" title=\"");
+            escapeTo(html, title);
+            html.append('"');
+        }
+    }
+
+    // 一次扫描求出每个开括号对应的闭括号位置（没有则为-1），结果与从各开括号起按深度计数查找相同；
+    // 转义字符跳过，方括号遇到空行、圆括号（链接地址）遇到换行即不再配对
+    private static int[] matchPairs(String source, char open, char close, boolean singleLine) {
+        int[] match = new int[source.length()];
+        Arrays.fill(match, -1);
+        int[] stack = new int[source.length()];
+        int top = 0;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == open) {
+                stack[top++] = i;
+            } else if (c == close) {
+                if (top > 0) {
+                    match[stack[--top]] = i;
+                }
+            } else if (c == '\n' && (singleLine || i > 0 && source.charAt(i - 1) == '\n')) {
+                top = 0;
+            }
+        }
+        return match;
+    }
+
+    // <https://example.com> 形式的自动链接；其他尖括号内容按文本转义
+    private int renderAutolink(InlineScan scan, int start) {
+        String source = scan.source;
+        int close = scan.nextClose(start + 1);
+        if (close < 0) {
+            return -1;
+        }
+        int space = scan.nextWhitespace(start + 1);
+        if (space >= 0 && space < close) {
+            return -1;
+        }
+        // 先只在原文上判断协议，协议不在白名单内时不必截取地址
+        Matcher scheme = URL_SCHEME.matcher(source).region(start + 1, close);
+        if (!scheme.lookingAt() || !isSafeScheme(scheme.group(1))) {
+            return -1;
+        }
+        String target = source.substring(start + 1, close);
+        String url = safeUrl(target);
+        if (url == null) {
+            return -1;
+        }
+        html.append("<a href=\"");
+        escapeTo(html, url);
+        html.append("\" rel=\"nofollow noopener noreferrer\" target=\"_blank\">");
+        appendText(target);
+        html.append("</a>");
+        return close + 1;
+    }
+
+    // **粗体**、__粗体__、*斜体*、_斜体_、~~删除线~~；找不到闭合标记或超过嵌套上限时按普通字符输出
+    private int renderEmphasis(InlineScan scan, int start) {
+        if (depth >= MAX_NESTING) {
+            return -1;
+        }
+        String source = scan.source;
+        char marker = source.charAt(start);
+        boolean doubled = start + 1 < source.length() && source.charAt(start + 1) == marker;
+        if (marker == '~' && !doubled) {
+            return -1;
+        }
+        String delimiter = doubled ? String.valueOf(marker).repeat(2) : String.valueOf(marker);
+        int contentStart = start + delimiter.length();
+        if (contentStart >= source.length() || Character.isWhitespace(source.charAt(contentStart))) {
+            return -1;
+        }
+        // 单词内部的下划线（如snake_case）不作为强调标记
+        if (marker == '_' && start > 0 && Character.isLetterOrDigit(source.charAt(start - 1))) {
+            return -1;
+        }
+        int close = scan.closing(delimiter, contentStart);
+        if (close < 0) {
+            return -1;
+        }
+        String tag = marker == '~' ? "del" : doubled ? "strong" : "em";
+        html.append('<').append(tag).append('>');
+        renderNested(source.substring(contentStart, close));
+        html.append("</").append(tag).append('>');
+        return close + delimiter.length();
+    }
+
+    // 强调和链接文本的内层渲染，计入嵌套层数
+    private void renderNested(String source) {
+        depth++;
+        renderInline(source);
+        depth--;
+    }
+
+    private void appendText(String value) {
+        escapeTo(html, value);
+        text.append(value);
+    }
+
+    // 只放行http/https/mailto和不带协议的站内地址，其余（javascript:、data:等）一律拒绝
+    private static String safeUrl(String url) {
+        String trimmed = url.strip();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        StringBuilder cleaned = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (!Character.isISOControl(c)) {
+                cleaned.append(c);
+            }
+        }
+        Matcher scheme = URL_SCHEME.matcher(cleaned);
+        if (!scheme.find()) {
+            return cleaned.toString();
+        }
+        return isSafeScheme(scheme.group(1)) ? cleaned.toString() : null;
+    }
+
+    private static boolean isSafeScheme(String scheme) {
+        String name = scheme.toLowerCase(Locale.ROOT);
+        return name.equals("http") || name.equals("https") || name.equals("mailto");
+    }
+
+    private static boolean isExternal(String url) {
+        String lower = url.toLowerCase(Locale.ROOT);
+        return lower.startsWith("http://") || lower.startsWith("https://") || lower.startsWith("//");
+    }
+
+    private static boolean isEscapable(char c) {
+        return "\\`*_{}[]()#+-.!|~<>\"'".indexOf(c) >= 0;
+    }
+
+    private static void escapeTo(StringBuilder out, CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    // 返回{中日韩字数, 其他语言词数}
+    private static int[] countWords(CharSequence value) {
+        int cjk = 0;
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < value.length(); ) {
+            int c = Character.codePointAt(value, i);
+            i += Character.charCount(c);
+            if (isCjk(c)) {
+                cjk++;
+                inWord = false;
+            } else if (Character.isLetterOrDigit(c)) {
+                if (!inWord) {
+                    words++;
+                    inWord = true;
+                }
+            } else if (c != '\'' && c != '-') {
+                inWord = false;
+            }
+        }
+        return new int[]{cjk, words};
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
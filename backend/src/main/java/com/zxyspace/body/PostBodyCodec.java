@@ -0,0 +1,93 @@
+package com.zxyspace.body;
+
+import com.zxyspace.model.PostBody.Encoding;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// 正文编解码：Deflate配合针对本站Markdown文章的预置字典，短文也能引用到常见的语法标记和词汇
+public final class PostBodyCodec {
+
+    // 第一版字典，对应Encoding.DEFLATE_V1；内容一经发布不可修改，调整字典需新增编码版本
+    // Deflate优先匹配距离近的串，越常见的片段越靠近末尾
+    private static final byte[] DICTIONARY_V1 = String.join("",
+            "<details><summary></summary></details><br/><img src=\"\" alt=\"\" />",
+            "| --- | --- | --- |\n| | |\n",
+            "```java\n```bash\n```json\n```yaml\n```xml\n```sql\n```javascript\n```typescript\n```python\n```shell\n",
+            "public class private static final void return new String import package @Override @Autowired ",
+            "function const let await async export default => console.log(",
+            "SELECT * FROM WHERE ORDER BY GROUP BY LIMIT INSERT INTO UPDATE SET DELETE FROM ",
+            "http://localhost:8080/api/ https://github.com/ https://www.",
+            "我们可以通过这个方法来实现，首先需要然后最后总结一下问题的原因是解决方案如下所示，",
+            "参考资料配置文件项目依赖安装运行测试代码示例性能优化数据库缓存接口服务器前端后端",
+            "注意：例如：如果因为所以但是并且或者以及对于这样这里那么就是已经可以使用",
+            "## 前言\n## 背景\n## 总结\n## 参考\n### 问题\n### 解决\n",
+            "\n> **注意**\n- [ ] \n- [x] \n1. \n2. \n3. \n",
+            "![image](", "](https://", "[链接](", "**", "`", "\n\n- ", "\n\n## ", "\n\n### ", "\n\n```\n", "\n```\n\n")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final int BUFFER_BYTES = 8 * 1024;
+
+    private PostBodyCodec() {
+    }
+
+    public static byte[] encode(String content, Encoding encoding) {
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        if (encoding == Encoding.PLAIN) {
+            return raw;
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setDictionary(dictionaryOf(encoding));
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] buffer = new byte[BUFFER_BYTES];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decode(byte[] data, Encoding encoding) {
+        if (encoding == Encoding.PLAIN) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[BUFFER_BYTES];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                // 最后一次inflate可能在输出0字节的同时结束数据流，此时needsInput()也为真，不能视为数据不完整
+                if (length == 0 && !inflater.finished()) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(dictionaryOf(encoding));
+                    } else if (inflater.needsInput()) {
+                        throw new IllegalStateException("文章正文压缩数据不完整");
+                    }
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("文章正文压缩数据损坏：" + ex.getMessage(), ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] dictionaryOf(Encoding encoding) {
+        return switch (encoding) {
+            case DEFLATE_V1 -> DICTIONARY_V1;
+            case PLAIN -> throw new IllegalArgumentException("PLAIN编码不使用字典");
+        };
+    }
+}
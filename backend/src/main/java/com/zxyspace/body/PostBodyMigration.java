@@ -0,0 +1,130 @@
+package com.zxyspace.body;
+
+import com.zxyspace.model.PostBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// 正文迁移：把旧版posts.content列中的正文按ID区间分块搬到post_bodies表并清空原列；
+// 在其他启动任务和搜索索引构建之前运行，全部迁移完成后可删除posts.content列，之后本任务直接跳过
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PostBodyMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostBodyMigration.class);
+
+    private static final String SELECT_SQL =
+            "SELECT p.id, p.content FROM posts p " +
+            "WHERE p.id > ? AND p.id <= ? AND p.content IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM post_bodies b WHERE b.post_id = p.id)";
+    private static final String INSERT_SQL =
+            "INSERT INTO post_bodies (post_id, encoding, data, html_encoding, html, toc, word_count, reading_minutes, " +
+            "renderer_version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String CLEAR_SQL =
+            "UPDATE posts SET content = NULL WHERE id > ? AND id <= ? AND content IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PostBodyStore postBodyStore;
+    private final int chunkSize;
+
+    public PostBodyMigration(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PostBodyStore postBodyStore,
+                             @Value("${posts.body.migration-chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.postBodyStore = postBodyStore;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!hasLegacyContentColumn()) {
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM posts", Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        long rawBytes = 0;
+        long storedBytes = 0;
+        int migrated = 0;
+        // 每个分块单独提交：写入正文和清空旧列在同一事务中，中途失败重启后从未迁移的文章继续
+        for (long fromId = 0; fromId < maxId; fromId += chunkSize) {
+            long lowerBound = fromId;
+            long upperBound = fromId + chunkSize;
+            ChunkResult result = transactionTemplate.execute(status -> migrateChunk(lowerBound, upperBound));
+            if (result != null) {
+                migrated += result.rows();
+                rawBytes += result.rawBytes();
+                storedBytes += result.storedBytes();
+            }
+        }
+        if (migrated > 0) {
+            logger.info("文章正文迁移完成：{} 篇，原文 {} 字节，存储 {} 字节，耗时 {} ms",
+                    migrated, rawBytes, storedBytes, System.currentTimeMillis() - start);
+        }
+    }
+
+    private ChunkResult migrateChunk(long lowerBound, long upperBound) {
+        List<Object[]> arguments = new ArrayList<>();
+        long rawBytes = 0;
+        long storedBytes = 0;
+        List<Map.Entry<Long, String>> rows = jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> Map.entry(rs.getLong(1), rs.getString(2)), lowerBound, upperBound);
+        for (Map.Entry<Long, String> row : rows) {
+            String content = row.getValue();
+            PostBody body = encode(row.getKey(), content);
+            arguments.add(new Object[]{body.getPostId(), body.getEncoding().name(), body.getData(),
+                    body.getHtmlEncoding() != null ? body.getHtmlEncoding().name() : null, body.getHtml(), body.getToc(),
+                    body.getWordCount(), body.getReadingMinutes(), body.getRendererVersion()});
+            rawBytes += content.getBytes(StandardCharsets.UTF_8).length;
+            storedBytes += body.getData().length;
+        }
+        if (!arguments.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, arguments);
+        }
+        jdbcTemplate.update(CLEAR_SQL, lowerBound, upperBound);
+        return new ChunkResult(arguments.size(), rawBytes, storedBytes);
+    }
+
+    // 渲染失败时只迁移原文、渲染列留空：原文不能丢（本块结束时旧列会被清空），渲染结果由PostBodyRenderJob重试生成
+    private PostBody encode(Long postId, String content) {
+        try {
+            return postBodyStore.encode(postId, content);
+        } catch (RuntimeException | StackOverflowError ex) {
+            logger.error("文章 {} 的正文渲染失败，只迁移原文", postId, ex);
+            return postBodyStore.encodeSource(postId, content);
+        }
+    }
+
+    // 新建的库没有posts.content列；旧库在删除该列之前每次启动都会检查一遍（已迁移的行为NULL，分块查询很快）
+    private boolean hasLegacyContentColumn() {
+        try {
+            jdbcTemplate.queryForList("SELECT content FROM posts WHERE 1 = 0");
+            return true;
+        } catch (BadSqlGrammarException ex) {
+            return false;
+        }
+    }
+
+    private record ChunkResult(int rows, long rawBytes, long storedBytes) {
+    }
+}
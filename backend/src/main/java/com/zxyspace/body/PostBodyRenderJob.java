@@ -0,0 +1,116 @@
+package com.zxyspace.body;
+
+import com.zxyspace.body.MarkdownRenderer.RenderedBody;
+import com.zxyspace.model.PostBody;
+import com.zxyspace.model.PostBody.Encoding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+// 正文批量重渲染：渲染器版本变更（或从备份恢复后派生列为空）时，按文章ID分块读取旧版本正文，
+// 在ForkJoin池中并行渲染，再按块批量写回；紧接正文迁移之后运行，此前的详情读取由PostBodyStore现场渲染兜底
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class PostBodyRenderJob implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostBodyRenderJob.class);
+
+    private static final String SELECT_SQL =
+            "SELECT post_id, encoding, data FROM post_bodies " +
+            "WHERE post_id > ? AND (renderer_version IS NULL OR renderer_version <> ?) " +
+            "ORDER BY post_id LIMIT ?";
+    private static final String UPDATE_SQL =
+            "UPDATE post_bodies SET html_encoding = ?, html = ?, toc = ?, word_count = ?, reading_minutes = ?, " +
+            "renderer_version = ? WHERE post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PostBodyStore postBodyStore;
+    private final int parallelism;
+    private final int chunkSize;
+
+    public PostBodyRenderJob(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PostBodyStore postBodyStore,
+                             @Value("${posts.body.render-parallelism:0}") int parallelism,
+                             @Value("${posts.body.render-chunk-size:200}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.postBodyStore = postBodyStore;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rerender();
+    }
+
+    // 返回重新渲染的篇数；渲染失败的文章保持原状，计入日志但不中断本次任务
+    public int rerender() {
+        long start = System.currentTimeMillis();
+        int rendered = 0;
+        int failed = 0;
+        // 渲染是纯CPU计算，放在独立的池中执行，不占用公共ForkJoin池
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long afterId = 0;
+            List<PostBodySource> chunk;
+            do {
+                chunk = jdbcTemplate.query(SELECT_SQL,
+                        (rs, rowNum) -> new PostBodySource(rs.getLong(1), Encoding.valueOf(rs.getString(2)), rs.getBytes(3)),
+                        afterId, MarkdownRenderer.VERSION, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                List<PostBodySource> sources = chunk;
+                List<Object[]> arguments = pool.submit(() -> sources.parallelStream()
+                        .map(this::render)
+                        .filter(Objects::nonNull)
+                        .toList()).join();
+                if (!arguments.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, arguments));
+                }
+                rendered += arguments.size();
+                failed += chunk.size() - arguments.size();
+                afterId = chunk.get(chunk.size() - 1).getPostId();
+            } while (chunk.size() == chunkSize);
+        } finally {
+            pool.shutdown();
+        }
+        if (rendered > 0) {
+            logger.info("正文重新渲染完成：{} 篇，渲染器版本 {}，并行度 {}，耗时 {} ms",
+                    rendered, MarkdownRenderer.VERSION, parallelism, System.currentTimeMillis() - start);
+        }
+        if (failed > 0) {
+            logger.warn("正文重新渲染有 {} 篇失败，已跳过，下次启动时重试", failed);
+        }
+        return rendered;
+    }
+
+    // 单篇正文解码或渲染失败时返回null：该篇保留旧的渲染结果（详情读取时现场渲染兜底），不影响其他文章和应用启动
+    private Object[] render(PostBodySource source) {
+        try {
+            RenderedBody rendered = MarkdownRenderer.render(PostBodyCodec.decode(source.getData(), source.getEncoding()));
+            PostBody body = new PostBody();
+            postBodyStore.applyRendered(body, rendered);
+            return new Object[]{body.getHtmlEncoding().name(), body.getHtml(), body.getToc(), body.getWordCount(),
+                    body.getReadingMinutes(), body.getRendererVersion(), source.getPostId()};
+        } catch (RuntimeException | StackOverflowError ex) {
+            logger.error("文章 {} 的正文渲染失败", source.getPostId(), ex);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.zxyspace.body;
+
+import com.zxyspace.model.PostBody.Encoding;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 正文原文投影：只取Markdown字节，不读取渲染后的HTML等派生列
+@Getter
+@AllArgsConstructor
+public class PostBodySource {
+
+    private Long postId;
+    private Encoding encoding;
+    private byte[] data;
+}
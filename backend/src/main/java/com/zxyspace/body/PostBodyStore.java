@@ -0,0 +1,161 @@
+package com.zxyspace.body;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zxyspace.body.MarkdownRenderer.RenderedBody;
+import com.zxyspace.dto.TocEntryDto;
+import com.zxyspace.model.PostBody;
+import com.zxyspace.model.PostBody.Encoding;
+import com.zxyspace.repository.PostBodyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 文章正文存取：写入时渲染HTML并提取目录/字数，按配置压缩（只在压缩后确实更小时保留压缩结果）；读取时按记录的编码透明解压
+@Component
+public class PostBodyStore {
+
+    private static final TypeReference<List<TocEntryDto>> TOC_TYPE = new TypeReference<>() {
+    };
+
+    private final PostBodyRepository postBodyRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean compression;
+    private final int minCompressBytes;
+
+    public PostBodyStore(PostBodyRepository postBodyRepository,
+                         ObjectMapper objectMapper,
+                         @Value("${posts.body.compression:true}") boolean compression,
+                         @Value("${posts.body.min-compress-bytes:256}") int minCompressBytes) {
+        this.postBodyRepository = postBodyRepository;
+        this.objectMapper = objectMapper;
+        this.compression = compression;
+        this.minCompressBytes = minCompressBytes;
+    }
+
+    // 只取Markdown原文；正文缺失时返回空串，与旧数据中正文为空的文章表现一致
+    public String load(Long postId) {
+        return postBodyRepository.findSourceByPostId(postId)
+                .map(PostBodyStore::decode)
+                .orElse("");
+    }
+
+    public Map<Long, String> loadAll(Collection<Long> postIds) {
+        Map<Long, String> contents = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return contents;
+        }
+        for (PostBodySource source : postBodyRepository.findSourcesByPostIdIn(postIds)) {
+            contents.put(source.getPostId(), decode(source));
+        }
+        return contents;
+    }
+
+    // 详情读取：原文和渲染结果；渲染结果缺失或版本落后（后台重渲染尚未完成）时现场渲染，不回写
+    public PostContent loadContent(Long postId) {
+        PostBody body = postBodyRepository.findById(postId).orElse(null);
+        if (body == null) {
+            return PostContent.EMPTY;
+        }
+        String markdown = PostBodyCodec.decode(body.getData(), body.getEncoding());
+        if (body.getHtml() == null || !Integer.valueOf(MarkdownRenderer.VERSION).equals(body.getRendererVersion())) {
+            return contentOf(markdown, MarkdownRenderer.render(markdown));
+        }
+        return new PostContent(markdown,
+                PostBodyCodec.decode(body.getHtml(), body.getHtmlEncoding()),
+                readToc(body.getToc()),
+                body.getWordCount() != null ? body.getWordCount() : 0,
+                body.getReadingMinutes() != null ? body.getReadingMinutes() : 0);
+    }
+
+    // 新文章直接插入；已有正文则覆盖，需在调用方事务内执行
+    public PostContent save(Long postId, String content, boolean created) {
+        RenderedBody rendered = MarkdownRenderer.render(content);
+        PostBody encoded = encode(postId, content, rendered);
+        PostBody body = created ? null : postBodyRepository.findById(postId).orElse(null);
+        if (body == null) {
+            postBodyRepository.save(encoded);
+        } else {
+            body.setEncoding(encoded.getEncoding());
+            body.setData(encoded.getData());
+            applyRendered(body, rendered);
+        }
+        return contentOf(content, rendered);
+    }
+
+    // 按当前配置编码正文并填入渲染结果，供批量导入和迁移等直接构造实体或写表的场景使用
+    public PostBody encode(Long postId, String content) {
+        return encode(postId, content, MarkdownRenderer.render(content));
+    }
+
+    // 只编码原文，渲染列留空（rendererVersion为null，由PostBodyRenderJob补齐）
+    public PostBody encodeSource(Long postId, String content) {
+        Encoded markdown = encodeBytes(content);
+        return new PostBody(postId, markdown.encoding(), markdown.data());
+    }
+
+    // 把渲染结果写入实体的派生列，HTML按与正文相同的规则压缩
+    public void applyRendered(PostBody body, RenderedBody rendered) {
+        Encoded html = encodeBytes(rendered.html());
+        body.setHtmlEncoding(html.encoding());
+        body.setHtml(html.data());
+        body.setToc(writeToc(rendered.toc()));
+        body.setWordCount(rendered.wordCount());
+        body.setReadingMinutes(rendered.readingMinutes());
+        body.setRendererVersion(MarkdownRenderer.VERSION);
+    }
+
+    private PostBody encode(Long postId, String content, RenderedBody rendered) {
+        PostBody body = encodeSource(postId, content);
+        applyRendered(body, rendered);
+        return body;
+    }
+
+    // 压缩后不比原文小时存原文，读取时省去解压
+    private Encoded encodeBytes(String value) {
+        byte[] raw = value.getBytes(StandardCharsets.UTF_8);
+        if (compression && raw.length >= minCompressBytes) {
+            byte[] deflated = PostBodyCodec.encode(value, Encoding.DEFLATE_V1);
+            if (deflated.length < raw.length) {
+                return new Encoded(Encoding.DEFLATE_V1, deflated);
+            }
+        }
+        return new Encoded(Encoding.PLAIN, raw);
+    }
+
+    private String writeToc(List<TocEntryDto> toc) {
+        try {
+            return objectMapper.writeValueAsString(toc);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("目录序列化失败", ex);
+        }
+    }
+
+    private List<TocEntryDto> readToc(String toc) {
+        if (toc == null || toc.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(toc, TOC_TYPE);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("目录反序列化失败", ex);
+        }
+    }
+
+    private static PostContent contentOf(String markdown, RenderedBody rendered) {
+        return new PostContent(markdown, rendered.html(), rendered.toc(), rendered.wordCount(), rendered.readingMinutes());
+    }
+
+    private static String decode(PostBodySource source) {
+        return PostBodyCodec.decode(source.getData(), source.getEncoding());
+    }
+
+    private record Encoded(Encoding encoding, byte[] data) {
+    }
+}
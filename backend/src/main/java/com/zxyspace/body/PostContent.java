@@ -0,0 +1,21 @@
+package com.zxyspace.body;
+
+import com.zxyspace.dto.TocEntryDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 解码后的文章正文：Markdown原文及写入时渲染的HTML、目录、字数和阅读时间
+@Getter
+@AllArgsConstructor
+public class PostContent {
+
+    public static final PostContent EMPTY = new PostContent("", "", List.of(), 0, 0);
+
+    private String markdown;
+    private String html;
+    private List<TocEntryDto> toc;
+    private int wordCount;
+    private int readingMinutes;
+}
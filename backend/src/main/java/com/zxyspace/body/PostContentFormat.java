@@ -0,0 +1,29 @@
+package com.zxyspace.body;
+
+import com.zxyspace.exception.BusinessException;
+
+// 文章详情正文的返回格式：Markdown原文或写入时预渲染的HTML
+public enum PostContentFormat {
+
+    MARKDOWN("markdown"),
+    HTML("html");
+
+    private final String param;
+
+    PostContentFormat(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public static PostContentFormat fromParam(String param) {
+        for (PostContentFormat format : values()) {
+            if (format.param.equalsIgnoreCase(param)) {
+                return format;
+            }
+        }
+        throw new BusinessException("Unsupported content format '" + param + "', expected markdown or html", "INVALID_FORMAT");
+    }
+}
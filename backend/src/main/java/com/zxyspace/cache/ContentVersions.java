@@ -0,0 +1,99 @@
+package com.zxyspace.cache;
+
+import com.zxyspace.body.PostContentFormat;
+import com.zxyspace.dto.PostDto;
+import com.zxyspace.event.CommentChangedEvent;
+import com.zxyspace.event.PostChangedEvent;
+import com.zxyspace.event.PostCounterChangedEvent;
+import com.zxyspace.event.TaxonomyChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 内容版本号：每类集合一个写时递增的计数器，用于生成条件GET的ETag，无需查询数据库
+@Component
+public class ContentVersions {
+
+    public enum Collection {
+        POSTS,
+        COMMENTS,
+        CATEGORIES,
+        TAGS
+    }
+
+    // 进程启动标识，保证重启后旧的ETag不会误判为未修改
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Collection, AtomicLong> versions = new EnumMap<>(Collection.class);
+    // 浏览量写回次数：列表读取的是已持久化的浏览量，只在写回后变化
+    private final AtomicLong viewFlushes = new AtomicLong();
+    private final PostDetailCache postDetailCache;
+
+    public ContentVersions(PostDetailCache postDetailCache) {
+        this.postDetailCache = postDetailCache;
+        for (Collection collection : Collection.values()) {
+            versions.put(collection, new AtomicLong());
+        }
+    }
+
+    // 集合ETag：内容完全由版本号决定，为强校验器
+    public String etag(Collection collection) {
+        return "\"" + collection.name().toLowerCase() + "-" + bootId + "-" + versions.get(collection).get() + "\"";
+    }
+
+    // 文章列表ETag：由文章版本号和浏览量写回次数决定，两次写回之间的条件GET仍可返回304
+    public String postListETag() {
+        return "W/\"posts-" + bootId + "-" + versions.get(Collection.POSTS).get() + "." + viewFlushes.get() + "\"";
+    }
+
+    // 文章详情ETag：由updatedAt、点赞数、分类/标签版本和正文格式决定；浏览量不参与，为弱校验器
+    public String postETag(PostDto post, PostContentFormat format) {
+        long updatedAt = post.getUpdatedAt() != null
+                ? post.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0;
+        return "W/\"post-" + post.getId() + "-" + updatedAt + "-" + post.getLikes() + "-" + bootId + "-"
+                + versions.get(Collection.CATEGORIES).get() + "." + versions.get(Collection.TAGS).get()
+                + (format == PostContentFormat.HTML ? "-html" : "") + "\"";
+    }
+
+    // 只在详情缓存命中时返回ETag，不触发数据库加载
+    public Optional<String> cachedPostETag(Long id, PostContentFormat format) {
+        return Optional.ofNullable(postDetailCache.getIfPresent(id)).map(post -> postETag(post, format));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        bump(Collection.POSTS);
+    }
+
+    // 点赞数和评论数出现在文章列表中；浏览量写回只改变列表ETag，不影响详情ETag
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCounterChanged(PostCounterChangedEvent event) {
+        if (event.getLikesDelta() != 0 || event.getCommentsDelta() != 0) {
+            bump(Collection.POSTS);
+        }
+        if (event.getViewsDelta() != 0) {
+            viewFlushes.incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        bump(Collection.COMMENTS);
+    }
+
+    // 文章数据内嵌分类/标签名称，因此同时递增文章版本
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        bump(event.getType() == TaxonomyChangedEvent.Type.CATEGORY ? Collection.CATEGORIES : Collection.TAGS);
+        bump(Collection.POSTS);
+    }
+
+    private void bump(Collection collection) {
+        versions.get(collection).incrementAndGet();
+    }
+}
@@ -0,0 +1,107 @@
+package com.zxyspace.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.zxyspace.dto.CacheStatsDto;
+import com.zxyspace.dto.PostDto;
+import com.zxyspace.dto.TagDto;
+import com.zxyspace.event.PostChangedEvent;
+import com.zxyspace.event.PostCounterChangedEvent;
+import com.zxyspace.event.TaxonomyChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// 文章详情本地缓存：条目同时包含Markdown和HTML正文，按估算字节数限制容量，W-TinyLFU淘汰，写入后定时过期
+@Component
+public class PostDetailCache {
+
+    // 每个条目的固定开销估算（对象头、作者/分类摘要等）
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    private final Cache<Long, PostDto> cache;
+
+    public PostDetailCache(@Value("${posts.detail-cache.max-weight-bytes:67108864}") long maxWeightBytes,
+                           @Value("${posts.detail-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((Long id, PostDto post) -> estimateBytes(post))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    // 读穿：未命中时调用loader加载；loader抛出的异常不会被缓存
+    public PostDto get(Long id, Function<Long, PostDto> loader) {
+        return cache.get(id, loader);
+    }
+
+    // 只查缓存，不加载
+    public PostDto getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    // 文章更新/删除提交后失效对应条目
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        cache.invalidate(event.getPostId());
+    }
+
+    // 分类/标签改名或删除后，失效所有引用它们的文章
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        cache.asMap().values().removeIf(post -> references(post, event));
+    }
+
+    // 计数已持久化：在缓存条目上累加，保持热点条目不被频繁失效
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCounterChanged(PostCounterChangedEvent event) {
+        cache.asMap().computeIfPresent(event.getPostId(), (id, post) -> post.toBuilder()
+                .views(post.getViews() + (int) event.getViewsDelta())
+                .likes(Math.max(post.getLikes() + event.getLikesDelta(), 0))
+                .build());
+    }
+
+    public CacheStatsDto getStats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .name("postDetail")
+                .size(cache.estimatedSize())
+                .weight(cache.policy().eviction()
+                        .flatMap(eviction -> eviction.weightedSize().stream().boxed().findFirst())
+                        .orElse(0L))
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .evictionWeight(stats.evictionWeight())
+                .build();
+    }
+
+    private static boolean references(PostDto post, TaxonomyChangedEvent event) {
+        if (event.getType() == TaxonomyChangedEvent.Type.CATEGORY) {
+            return post.getCategory() != null && event.getId().equals(post.getCategory().getId());
+        }
+        return post.getTags() != null && post.getTags().stream()
+                .map(TagDto::getId)
+                .anyMatch(event.getId()::equals);
+    }
+
+    private static int estimateBytes(PostDto post) {
+        long chars = length(post.getTitle()) + length(post.getExcerpt())
+                + length(post.getContent()) + length(post.getContentHtml()) + length(post.getCoverImage());
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD_BYTES + chars * 2);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
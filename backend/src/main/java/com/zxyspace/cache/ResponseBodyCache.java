@@ -0,0 +1,219 @@
+package com.zxyspace.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.zxyspace.dto.CacheStatsDto;
+import com.zxyspace.event.PostChangedEvent;
+import com.zxyspace.event.PostCounterChangedEvent;
+import com.zxyspace.event.TaxonomyChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Predicate;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+// 响应体缓存：保存热点公共读接口序列化后的JSON字节及其gzip/deflate版本，按URL和规范化参数索引
+@Component
+public class ResponseBodyCache {
+
+    // 响应体小于该长度时压缩收益有限，只保存原始字节
+    private static final int MIN_COMPRESS_BYTES = 1024;
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    public enum Scope {
+        POST_DETAIL,
+        POST_LIST,
+        TAXONOMY
+    }
+
+    public enum Encoding {
+        IDENTITY(null),
+        GZIP("gzip"),
+        DEFLATE("deflate");
+
+        private final String headerValue;
+
+        Encoding(String headerValue) {
+            this.headerValue = headerValue;
+        }
+
+        public String getHeaderValue() {
+            return headerValue;
+        }
+    }
+
+    private final Cache<String, CachedResponse> cache;
+
+    // 失效代数：每次失效递增，未命中期间代数变化说明可能读到了旧数据，不再写入缓存
+    private volatile long generation;
+
+    public ResponseBodyCache(@Value("${posts.response-cache.max-weight-bytes:33554432}") long maxWeightBytes,
+                             @Value("${posts.response-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public CachedResponse getIfPresent(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    // 写入后再次检查代数：写入与失效交错时撤销本次写入
+    public void put(String key, CachedResponse response, long expectedGeneration) {
+        if (generation != expectedGeneration) {
+            return;
+        }
+        cache.put(key, response);
+        if (generation != expectedGeneration) {
+            cache.invalidate(key);
+        }
+    }
+
+    // 文章更新/删除后失效该文章详情和所有列表
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        invalidateIf(response -> response.scope == Scope.POST_LIST || response.isDetailOf(event.getPostId()));
+    }
+
+    // 详情和列表都含已持久化的计数，任一计数写回都失效，与列表ETag规则一致
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCounterChanged(PostCounterChangedEvent event) {
+        invalidateIf(response -> response.scope == Scope.POST_LIST || response.isDetailOf(event.getPostId()));
+    }
+
+    // 文章数据内嵌分类/标签名称，分类/标签变化时全部失效
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        invalidateIf(response -> true);
+    }
+
+    public CacheStatsDto getStats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .name("responseBody")
+                .size(cache.estimatedSize())
+                .weight(cache.policy().eviction()
+                        .flatMap(eviction -> eviction.weightedSize().stream().boxed().findFirst())
+                        .orElse(0L))
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .evictionWeight(stats.evictionWeight())
+                .build();
+    }
+
+    private synchronized void invalidateIf(Predicate<CachedResponse> predicate) {
+        generation++;
+        cache.asMap().values().removeIf(predicate);
+    }
+
+    // 已序列化的响应：原始字节和压缩版本在写入缓存前一次性生成
+    public static final class CachedResponse {
+
+        private final Scope scope;
+        private final Long postId;
+        private final String contentType;
+        private final String etag;
+        private final String cacheControl;
+        private final byte[] identity;
+        private final byte[] gzip;
+        private final byte[] deflate;
+
+        private CachedResponse(Scope scope, Long postId, String contentType, String etag, String cacheControl,
+                               byte[] identity, byte[] gzip, byte[] deflate) {
+            this.scope = scope;
+            this.postId = postId;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.cacheControl = cacheControl;
+            this.identity = identity;
+            this.gzip = gzip;
+            this.deflate = deflate;
+        }
+
+        public static CachedResponse of(Scope scope, Long postId, String contentType, String etag,
+                                        String cacheControl, byte[] body) {
+            byte[] gzip = null;
+            byte[] deflate = null;
+            if (body.length >= MIN_COMPRESS_BYTES) {
+                gzip = smallerOrNull(gzip(body), body);
+                deflate = smallerOrNull(deflate(body), body);
+            }
+            return new CachedResponse(scope, postId, contentType, etag, cacheControl, body, gzip, deflate);
+        }
+
+        public boolean supports(Encoding encoding) {
+            return body(encoding) != null;
+        }
+
+        public byte[] body(Encoding encoding) {
+            return switch (encoding) {
+                case GZIP -> gzip;
+                case DEFLATE -> deflate;
+                case IDENTITY -> identity;
+            };
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getCacheControl() {
+            return cacheControl;
+        }
+
+        boolean isDetailOf(Long id) {
+            return scope == Scope.POST_DETAIL && postId.equals(id);
+        }
+
+        int weight() {
+            return ENTRY_OVERHEAD_BYTES + identity.length
+                    + (gzip != null ? gzip.length : 0)
+                    + (deflate != null ? deflate.length : 0);
+        }
+
+        private static byte[] smallerOrNull(byte[] compressed, byte[] body) {
+            return compressed.length < body.length ? compressed : null;
+        }
+
+        private static byte[] gzip(byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return out.toByteArray();
+        }
+
+        // HTTP的deflate编码即zlib格式，DeflaterOutputStream默认输出该格式
+        private static byte[] deflate(byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+            try (DeflaterOutputStream deflate = new DeflaterOutputStream(out)) {
+                deflate.write(body);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return out.toByteArray();
+        }
+    }
+}
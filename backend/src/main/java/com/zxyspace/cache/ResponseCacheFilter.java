@@ -0,0 +1,204 @@
+package com.zxyspace.cache;
+
+import com.zxyspace.cache.ResponseBodyCache.CachedResponse;
+import com.zxyspace.cache.ResponseBodyCache.Encoding;
+import com.zxyspace.cache.ResponseBodyCache.Scope;
+import com.zxyspace.counter.PostViewCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 响应体缓存过滤器：在安全过滤链之后运行，命中时直接写出缓存字节，不经过控制器、Jackson和容器压缩
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    // 只缓存与当前用户无关的公共读接口；热门/趋势榜随浏览量变化，不在此缓存
+    private static final Pattern POST_DETAIL = Pattern.compile("^/api/posts/(\\d+)$");
+    private static final Pattern POST_LIST = Pattern.compile("^/api/posts(/(author|category|tag)/\\d+|/search|/recent)?$");
+    private static final Pattern TAXONOMY = Pattern.compile("^/api/(categories|tags)(/[^/]+)*$");
+
+    private final ResponseBodyCache responseBodyCache;
+    private final PostViewCounter postViewCounter;
+
+    public ResponseCacheFilter(ResponseBodyCache responseBodyCache, PostViewCounter postViewCounter) {
+        this.responseBodyCache = responseBodyCache;
+        this.postViewCounter = postViewCounter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || scopeOf(pathOf(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = pathOf(request);
+        Scope scope = scopeOf(path);
+        Matcher detail = POST_DETAIL.matcher(path);
+        Long postId = detail.matches() ? Long.valueOf(detail.group(1)) : null;
+        String key = cacheKey(path, request);
+
+        CachedResponse cached = responseBodyCache.getIfPresent(key);
+        if (cached != null) {
+            // 命中详情时跳过了控制器，在这里补记浏览量
+            if (postId != null) {
+                postViewCounter.increment(postId);
+            }
+            write(request, response, cached);
+            return;
+        }
+
+        long generation = responseBodyCache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || !isJson(wrapper.getContentType())) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        CachedResponse fresh = CachedResponse.of(scope, postId, wrapper.getContentType(),
+                wrapper.getHeader(HttpHeaders.ETAG), wrapper.getHeader(HttpHeaders.CACHE_CONTROL),
+                wrapper.getContentAsByteArray());
+        responseBodyCache.put(key, fresh, generation);
+        write(request, response, fresh);
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response, CachedResponse cached)
+            throws IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (cached.getCacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cached.getCacheControl());
+        }
+        if (cached.getEtag() != null && new ServletWebRequest(request, response).checkNotModified(cached.getEtag())) {
+            return;
+        }
+        if (cached.getEtag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.getEtag());
+        }
+
+        Encoding encoding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING), cached);
+        byte[] body = cached.body(encoding);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.getContentType());
+        if (encoding.getHeaderValue() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.getHeaderValue());
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // 按Accept-Encoding的q值选择已缓存的编码，同等权重优先gzip；都不可用时返回原始字节
+    private static Encoding negotiate(String acceptEncoding, CachedResponse cached) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return Encoding.IDENTITY;
+        }
+        double gzipQ = -1;
+        double deflateQ = -1;
+        double wildcardQ = 0;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double q = qualityOf(tokens);
+            switch (coding) {
+                case "gzip", "x-gzip" -> gzipQ = q;
+                case "deflate" -> deflateQ = q;
+                case "*" -> wildcardQ = q;
+                default -> {
+                }
+            }
+        }
+        gzipQ = gzipQ < 0 ? wildcardQ : gzipQ;
+        deflateQ = deflateQ < 0 ? wildcardQ : deflateQ;
+
+        if (gzipQ > 0 && gzipQ >= deflateQ && cached.supports(Encoding.GZIP)) {
+            return Encoding.GZIP;
+        }
+        if (deflateQ > 0 && cached.supports(Encoding.DEFLATE)) {
+            return Encoding.DEFLATE;
+        }
+        if (gzipQ > 0 && cached.supports(Encoding.GZIP)) {
+            return Encoding.GZIP;
+        }
+        return Encoding.IDENTITY;
+    }
+
+    private static double qualityOf(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String param = tokens[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    // 缓存键：路径加按名称排序的查询参数，参数顺序不同的请求共享同一条目
+    private static String cacheKey(String path, HttpServletRequest request) {
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        if (parameters.isEmpty()) {
+            return path;
+        }
+        StringJoiner query = new StringJoiner("&", path + "?", "");
+        for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+            for (String value : parameter.getValue()) {
+                query.add(encode(parameter.getKey()) + "=" + encode(value));
+            }
+        }
+        return query.toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static Scope scopeOf(String path) {
+        if (POST_DETAIL.matcher(path).matches()) {
+            return Scope.POST_DETAIL;
+        }
+        if (POST_LIST.matcher(path).matches()) {
+            return Scope.POST_LIST;
+        }
+        if (TAXONOMY.matcher(path).matches()) {
+            return Scope.TAXONOMY;
+        }
+        return null;
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.zxyspace.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // 文章页聚合接口的子请求线程池：有界队列，满载时拒绝并由调用方降级
+    @Bean(name = "postPageExecutor")
+    public ThreadPoolTaskExecutor postPageExecutor(
+            @Value("${posts.page.executor.core-size:4}") int coreSize,
+            @Value("${posts.page.executor.max-size:16}") int maxSize,
+            @Value("${posts.page.executor.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("post-page-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
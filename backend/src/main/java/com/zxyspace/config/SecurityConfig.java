@@ -2,8 +2,13 @@ package com.zxyspace.config;
 
 import com.zxyspace.security.JwtAuthenticationEntryPoint;
 import com.zxyspace.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -14,17 +19,31 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
 
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    // 匿名的公共读请求：GET首页/文章/分类/标签且不带Authorization头
+    private static final RequestMatcher ANONYMOUS_PUBLIC_READ = new AndRequestMatcher(
+            new OrRequestMatcher(
+                    antMatcher(HttpMethod.GET, "/api/home"),
+                    antMatcher(HttpMethod.GET, "/api/posts/**"),
+                    antMatcher(HttpMethod.GET, "/api/categories/**"),
+                    antMatcher(HttpMethod.GET, "/api/tags/**")),
+            request -> request.getHeader(HttpHeaders.AUTHORIZATION) == null);
+
     private final JwtAuthenticationEntryPoint unauthorizedHandler;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -35,32 +54,64 @@ public class SecurityConfig {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
     }
 
+    // 公共读快速通道：不解析令牌、不创建安全上下文、不处理会话和请求缓存
+    @Bean
+    @Order(1)
+    public SecurityFilterChain publicReadFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher(ANONYMOUS_PUBLIC_READ)
+            .csrf(csrf -> csrf.disable())
+            .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+            .securityContext(context -> context.disable())
+            .sessionManagement(session -> session.disable())
+            .requestCache(cache -> cache.disable())
+            .anonymous(anonymous -> anonymous.disable())
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/auth/**", "/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
-                .requestMatchers("/h2-console/**").permitAll() // 开发环境
-                .requestMatchers("/posts/**", "/categories/**", "/tags/**").permitAll()
+                // 异步分派只负责写出已授权请求的结果（如流式备份下载），不再重复鉴权
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                // 统一使用Ant路径匹配：注册了H2控制台Servlet时，字符串形式的requestMatchers无法判断是否为MVC路径，启动即失败
+                .requestMatchers(antMatcher("/api/auth/**"), antMatcher("/api-docs/**"),
+                        antMatcher("/swagger-ui/**"), antMatcher("/swagger-ui.html")).permitAll()
+                .requestMatchers(antMatcher("/h2-console/**")).permitAll() // 开发环境
+                // 带令牌的公共读请求也允许访问，令牌用于识别当前用户
+                .requestMatchers(antMatcher(HttpMethod.GET, "/api/home"), antMatcher(HttpMethod.GET, "/api/posts/**"),
+                        antMatcher(HttpMethod.GET, "/api/categories/**"), antMatcher(HttpMethod.GET, "/api/tags/**")).permitAll()
                 .anyRequest().authenticated()
             );
-        
+
         // 允许在开发环境中使用H2控制台
         http.headers(headers -> headers.frameOptions(frameOption -> frameOption.sameOrigin()));
-        
+
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
-        
+
         return http.build();
     }
 
+    // JWT过滤器只在安全过滤链中运行，不再由Spring Boot额外注册为全局Servlet过滤器
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:5173"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -77,4 +128,4 @@ public class SecurityConfig {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
-}
\ No newline at end of file
+}
@@ -5,7 +5,6 @@ import com.zxyspace.dto.LoginRequest;
 import com.zxyspace.dto.MessageResponse;
 import com.zxyspace.dto.RegisterRequest;
 import com.zxyspace.model.User;
-import com.zxyspace.model.UserRole;
 import com.zxyspace.repository.UserRepository;
 import com.zxyspace.security.JwtTokenProvider;
 import jakarta.validation.Valid;
@@ -88,7 +87,7 @@ public class AuthController {
                 .password(passwordEncoder.encode(registerRequest.getPassword()))
                 .firstName(registerRequest.getFirstName())
                 .lastName(registerRequest.getLastName())
-                .role(UserRole.USER) // 默认角色为普通用户
+                .role(User.Role.ROLE_USER) // 默认角色为普通用户
                 .build();
 
         // 保存用户
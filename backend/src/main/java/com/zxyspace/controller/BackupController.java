@@ -0,0 +1,39 @@
+package com.zxyspace.controller;
+
+import com.zxyspace.backup.SiteBackup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/backup")
+@PreAuthorize("hasRole('ADMIN')")
+public class BackupController {
+
+    private final SiteBackup siteBackup;
+
+    @Autowired
+    public BackupController(SiteBackup siteBackup) {
+        this.siteBackup = siteBackup;
+    }
+
+    // 全站备份下载：边读边写，恢复请使用命令行在空库上进行
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportBackup() {
+        String filename = "zxyspace-" + LocalDate.now() + ".ndjson.gz";
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .body(out -> siteBackup.export(out));
+    }
+}
@@ -0,0 +1,33 @@
+package com.zxyspace.controller;
+
+import com.zxyspace.cache.PostDetailCache;
+import com.zxyspace.cache.ResponseBodyCache;
+import com.zxyspace.dto.CacheStatsDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@PreAuthorize("hasRole('ADMIN')")
+public class CacheController {
+
+    private final PostDetailCache postDetailCache;
+    private final ResponseBodyCache responseBodyCache;
+
+    @Autowired
+    public CacheController(PostDetailCache postDetailCache, ResponseBodyCache responseBodyCache) {
+        this.postDetailCache = postDetailCache;
+        this.responseBodyCache = responseBodyCache;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(List.of(postDetailCache.getStats(), responseBodyCache.getStats()));
+    }
+}
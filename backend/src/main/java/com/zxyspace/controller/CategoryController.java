@@ -1,11 +1,13 @@
 package com.zxyspace.controller;
 
+import com.zxyspace.cache.ContentVersions;
 import com.zxyspace.dto.CategoryDto;
 import com.zxyspace.service.CategoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,25 +16,30 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ContentVersions contentVersions;
 
     @Autowired
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, ContentVersions contentVersions) {
         this.categoryService = categoryService;
+        this.contentVersions = contentVersions;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long id) {
-        return ResponseEntity.ok(categoryService.getCategoryById(id));
+    public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.CATEGORIES),
+                ConditionalResponses.TAXONOMY, () -> categoryService.getCategoryById(id));
     }
 
     @GetMapping("/name/{name}")
-    public ResponseEntity<CategoryDto> getCategoryByName(@PathVariable String name) {
-        return ResponseEntity.ok(categoryService.getCategoryByName(name));
+    public ResponseEntity<CategoryDto> getCategoryByName(@PathVariable String name, WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.CATEGORIES),
+                ConditionalResponses.TAXONOMY, () -> categoryService.getCategoryByName(name));
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryDto>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<List<CategoryDto>> getAllCategories(WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.CATEGORIES),
+                ConditionalResponses.TAXONOMY, () -> categoryService.getAllCategories());
     }
 
     @PostMapping
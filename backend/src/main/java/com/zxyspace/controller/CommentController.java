@@ -1,13 +1,17 @@
 package com.zxyspace.controller;
 
+import com.zxyspace.cache.ContentVersions;
 import com.zxyspace.dto.CommentCreateRequest;
 import com.zxyspace.dto.CommentDto;
+import com.zxyspace.dto.LikeResponse;
 import com.zxyspace.dto.PageResponse;
+import com.zxyspace.security.CurrentUserProvider;
 import com.zxyspace.service.CommentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,36 +20,72 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    private final CurrentUserProvider currentUserProvider;
+    private final ContentVersions contentVersions;
 
     @Autowired
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService,
+                             CurrentUserProvider currentUserProvider,
+                             ContentVersions contentVersions) {
         this.commentService = commentService;
+        this.currentUserProvider = currentUserProvider;
+        this.contentVersions = contentVersions;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CommentDto> getCommentById(@PathVariable Long id) {
-        return ResponseEntity.ok(commentService.getCommentById(id));
+    public ResponseEntity<CommentDto> getCommentById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.COMMENTS),
+                ConditionalResponses.COMMENTS, () -> commentService.getCommentById(id));
+    }
+
+    // 评论及其整棵回复子树
+    @GetMapping("/{id}/replies")
+    public ResponseEntity<CommentDto> getReplyTree(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.COMMENTS),
+                ConditionalResponses.COMMENTS, () -> commentService.getReplyTree(id));
+    }
+
+    // 楼层列表：顶层评论游标分页，每个楼层附带最早的若干条回复
+    @GetMapping("/post/{postId}/threads")
+    public ResponseEntity<PageResponse<CommentDto>> getThreadsByPostId(
+            @PathVariable Long postId,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "3") int replies,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.COMMENTS),
+                ConditionalResponses.COMMENTS, () -> commentService.getThreadsByPostId(postId, cursor, size, replies));
     }
 
     @GetMapping("/post/{postId}")
-    public ResponseEntity<List<CommentDto>> getCommentsByPostId(@PathVariable Long postId) {
-        return ResponseEntity.ok(commentService.getCommentsByPostId(postId));
+    public ResponseEntity<List<CommentDto>> getCommentsByPostId(@PathVariable Long postId, WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.COMMENTS),
+                ConditionalResponses.COMMENTS, () -> commentService.getCommentsByPostId(postId));
     }
 
     @GetMapping("/post/{postId}/page")
     public ResponseEntity<PageResponse<CommentDto>> getCommentsByPostIdPaginated(
             @PathVariable Long postId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(commentService.getCommentsByPostId(postId, page, size));
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
+        boolean cursorMode = "cursor".equalsIgnoreCase(pagination);
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.COMMENTS),
+                ConditionalResponses.COMMENTS, () -> cursorMode
+                        ? commentService.getCommentsByPostIdAfter(postId, cursor, size)
+                        : commentService.getCommentsByPostId(postId, page, size));
     }
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<PageResponse<CommentDto>> getCommentsByUserId(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(commentService.getCommentsByUserId(userId, page, size));
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.COMMENTS),
+                ConditionalResponses.COMMENTS, () -> commentService.getCommentsByUserId(userId, page, size));
     }
 
     @PostMapping("/post/{postId}/user/{userId}")
@@ -69,18 +109,24 @@ public class CommentController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/{id}/like")
+    public ResponseEntity<LikeResponse> getLikeStatus(@PathVariable Long id) {
+        return ResponseEntity.ok(commentService.getLikeStatus(id, currentUserProvider.getCurrentUserId().orElse(null)));
+    }
+
     @PostMapping("/{id}/like")
-    public ResponseEntity<CommentDto> likeComment(@PathVariable Long id) {
-        return ResponseEntity.ok(commentService.likeComment(id));
+    public ResponseEntity<LikeResponse> likeComment(@PathVariable Long id) {
+        return ResponseEntity.ok(commentService.likeComment(id, currentUserProvider.requireCurrentUserId()));
     }
 
     @PostMapping("/{id}/unlike")
-    public ResponseEntity<CommentDto> unlikeComment(@PathVariable Long id) {
-        return ResponseEntity.ok(commentService.unlikeComment(id));
+    public ResponseEntity<LikeResponse> unlikeComment(@PathVariable Long id) {
+        return ResponseEntity.ok(commentService.unlikeComment(id, currentUserProvider.requireCurrentUserId()));
     }
 
     @GetMapping("/count/post/{postId}")
-    public ResponseEntity<Integer> countCommentsByPostId(@PathVariable Long postId) {
-        return ResponseEntity.ok(commentService.countCommentsByPostId(postId));
+    public ResponseEntity<Integer> countCommentsByPostId(@PathVariable Long postId, WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.COMMENTS),
+                ConditionalResponses.COMMENTS, () -> commentService.countCommentsByPostId(postId));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.zxyspace.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// 条件GET辅助：先比较ETag，未修改时直接返回304，不调用服务层也不序列化响应体
+final class ConditionalResponses {
+
+    // 文章详情：每次都要重新验证，304时仍然计入浏览量
+    static final CacheControl POST_DETAIL = CacheControl.noCache().cachePublic();
+    // 文章列表：短时间内直接使用缓存，过期后可先返回旧内容再后台验证
+    static final CacheControl POST_LIST = CacheControl.maxAge(Duration.ofSeconds(30))
+            .staleWhileRevalidate(Duration.ofSeconds(60))
+            .cachePublic();
+    // 排行类列表不带ETag，只允许短时间缓存
+    static final CacheControl POST_RANKING = CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic();
+    // 评论：发表后需要立即可见，每次重新验证；评论接口要求登录，只允许浏览器私有缓存，共享缓存/代理不得存储
+    static final CacheControl COMMENTS = CacheControl.noCache().cachePrivate();
+    // 分类/标签很少变化
+    static final CacheControl TAXONOMY = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> of(WebRequest request, String etag, CacheControl cacheControl, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            // 304响应同样携带缓存策略，便于浏览器和代理延长缓存
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(body.get());
+    }
+}
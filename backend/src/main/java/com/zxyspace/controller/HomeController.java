@@ -0,0 +1,29 @@
+package com.zxyspace.controller;
+
+import com.zxyspace.service.HomeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/home")
+public class HomeController {
+
+    private final HomeService homeService;
+
+    @Autowired
+    public HomeController(HomeService homeService) {
+        this.homeService = homeService;
+    }
+
+    // 首页聚合数据：直接写出预序列化的快照JSON
+    @GetMapping
+    public ResponseEntity<byte[]> getHome() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(homeService.getHomeSnapshotJson());
+    }
+}
@@ -0,0 +1,31 @@
+package com.zxyspace.controller;
+
+import com.zxyspace.dto.PostBulkDeleteRequest;
+import com.zxyspace.dto.PostBulkDeleteResultDto;
+import com.zxyspace.service.PostService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/posts")
+@PreAuthorize("hasRole('ADMIN')")
+public class PostAdminController {
+
+    private final PostService postService;
+
+    @Autowired
+    public PostAdminController(PostService postService) {
+        this.postService = postService;
+    }
+
+    // 批量删除文章：按ID列表或条件匹配，所有删除在同一事务中完成
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<PostBulkDeleteResultDto> deletePosts(@RequestBody PostBulkDeleteRequest request) {
+        return ResponseEntity.ok(postService.deletePosts(request));
+    }
+}
@@ -1,33 +1,75 @@
 package com.zxyspace.controller;
 
+import com.zxyspace.body.PostContentFormat;
+import com.zxyspace.cache.ContentVersions;
+import com.zxyspace.dto.LikeResponse;
 import com.zxyspace.dto.PageResponse;
 import com.zxyspace.dto.PostCreateRequest;
 import com.zxyspace.dto.PostDto;
 import com.zxyspace.dto.PostFilter;
+import com.zxyspace.dto.PostPageDto;
 import com.zxyspace.dto.PostSummaryDto;
 import com.zxyspace.dto.PostUpdateRequest;
+import com.zxyspace.security.CurrentUserProvider;
+import com.zxyspace.service.PostPageService;
 import com.zxyspace.service.PostService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/posts")
 public class PostController {
 
     private final PostService postService;
+    private final PostPageService postPageService;
+    private final CurrentUserProvider currentUserProvider;
+    private final ContentVersions contentVersions;
 
     @Autowired
-    public PostController(PostService postService) {
+    public PostController(PostService postService,
+                          PostPageService postPageService,
+                          CurrentUserProvider currentUserProvider,
+                          ContentVersions contentVersions) {
         this.postService = postService;
+        this.postPageService = postPageService;
+        this.currentUserProvider = currentUserProvider;
+        this.contentVersions = contentVersions;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PostDto> getPostById(@PathVariable Long id) {
-        return ResponseEntity.ok(postService.getPostById(id));
+    public ResponseEntity<PostDto> getPostById(
+            @PathVariable Long id,
+            @RequestParam(required = false, defaultValue = "markdown") String format,
+            WebRequest request) {
+        // 详情缓存命中时先比较ETag：未修改则只计浏览量并返回304
+        PostContentFormat contentFormat = PostContentFormat.fromParam(format);
+        Optional<String> cachedETag = contentVersions.cachedPostETag(id, contentFormat);
+        if (cachedETag.isPresent() && request.checkNotModified(cachedETag.get())) {
+            postService.recordView(id);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(cachedETag.get())
+                    .cacheControl(ConditionalResponses.POST_DETAIL)
+                    .build();
+        }
+        
+        PostDto post = postService.getPostById(id, format);
+        return ResponseEntity.ok()
+                .eTag(contentVersions.postETag(post, contentFormat))
+                .cacheControl(ConditionalResponses.POST_DETAIL)
+                .body(post);
+    }
+
+    // 文章页聚合：正文、第一页评论、评论数和相关文章一次返回
+    @GetMapping("/{id}/page")
+    public ResponseEntity<PostPageDto> getPostPage(@PathVariable Long id) {
+        return ResponseEntity.ok(postPageService.getPostPage(id));
     }
 
     @GetMapping
@@ -35,15 +77,21 @@ public class PostController {
             @RequestParam(required = false, defaultValue = "0") int page,
             @RequestParam(required = false, defaultValue = "10") int size,
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
-            @RequestParam(required = false, defaultValue = "desc") String sortDir) {
+            @RequestParam(required = false, defaultValue = "desc") String sortDir,
+            @RequestParam(required = false, defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
         
         PostFilter filter = new PostFilter();
         filter.setPage(page);
         filter.setSize(size);
         filter.setSortBy(sortBy);
         filter.setSortDirection(sortDir);
+        filter.setPagination(pagination);
+        filter.setCursor(cursor);
         
-        return ResponseEntity.ok(postService.getAllPosts(filter));
+        return ConditionalResponses.of(request, contentVersions.postListETag(),
+                ConditionalResponses.POST_LIST, () -> postService.getAllPosts(filter));
     }
 
     @GetMapping("/author/{authorId}")
@@ -52,15 +100,21 @@ public class PostController {
             @RequestParam(required = false, defaultValue = "0") int page,
             @RequestParam(required = false, defaultValue = "10") int size,
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
-            @RequestParam(required = false, defaultValue = "desc") String sortDir) {
+            @RequestParam(required = false, defaultValue = "desc") String sortDir,
+            @RequestParam(required = false, defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
         
         PostFilter filter = new PostFilter();
         filter.setPage(page);
         filter.setSize(size);
         filter.setSortBy(sortBy);
         filter.setSortDirection(sortDir);
+        filter.setPagination(pagination);
+        filter.setCursor(cursor);
         
-        return ResponseEntity.ok(postService.getPostsByAuthor(authorId, filter));
+        return ConditionalResponses.of(request, contentVersions.postListETag(),
+                ConditionalResponses.POST_LIST, () -> postService.getPostsByAuthor(authorId, filter));
     }
 
     @GetMapping("/category/{categoryId}")
@@ -69,15 +123,21 @@ public class PostController {
             @RequestParam(required = false, defaultValue = "0") int page,
             @RequestParam(required = false, defaultValue = "10") int size,
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
-            @RequestParam(required = false, defaultValue = "desc") String sortDir) {
+            @RequestParam(required = false, defaultValue = "desc") String sortDir,
+            @RequestParam(required = false, defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
         
         PostFilter filter = new PostFilter();
         filter.setPage(page);
         filter.setSize(size);
         filter.setSortBy(sortBy);
         filter.setSortDirection(sortDir);
+        filter.setPagination(pagination);
+        filter.setCursor(cursor);
         
-        return ResponseEntity.ok(postService.getPostsByCategory(categoryId, filter));
+        return ConditionalResponses.of(request, contentVersions.postListETag(),
+                ConditionalResponses.POST_LIST, () -> postService.getPostsByCategory(categoryId, filter));
     }
 
     @GetMapping("/tag/{tagId}")
@@ -86,15 +146,25 @@ public class PostController {
             @RequestParam(required = false, defaultValue = "0") int page,
             @RequestParam(required = false, defaultValue = "10") int size,
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
-            @RequestParam(required = false, defaultValue = "desc") String sortDir) {
+            @RequestParam(required = false, defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) List<Long> tagIds,
+            @RequestParam(required = false, defaultValue = "any") String tagMatch,
+            @RequestParam(required = false, defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
         
         PostFilter filter = new PostFilter();
         filter.setPage(page);
         filter.setSize(size);
         filter.setSortBy(sortBy);
         filter.setSortDirection(sortDir);
+        filter.setTagIds(tagIds);
+        filter.setTagMatch(tagMatch);
+        filter.setPagination(pagination);
+        filter.setCursor(cursor);
         
-        return ResponseEntity.ok(postService.getPostsByTag(tagId, filter));
+        return ConditionalResponses.of(request, contentVersions.postListETag(),
+                ConditionalResponses.POST_LIST, () -> postService.getPostsByTag(tagId, filter));
     }
 
     @GetMapping("/search")
@@ -102,34 +172,46 @@ public class PostController {
             @RequestParam String keyword,
             @RequestParam(required = false, defaultValue = "0") int page,
             @RequestParam(required = false, defaultValue = "10") int size,
-            @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
-            @RequestParam(required = false, defaultValue = "desc") String sortDir) {
+            WebRequest request) {
         
+        // 搜索结果按相关度排序，不支持自定义排序字段
         PostFilter filter = new PostFilter();
         filter.setKeyword(keyword);
         filter.setPage(page);
         filter.setSize(size);
-        filter.setSortBy(sortBy);
-        filter.setSortDirection(sortDir);
         
-        return ResponseEntity.ok(postService.searchPosts(keyword, filter));
+        return ConditionalResponses.of(request, contentVersions.postListETag(),
+                ConditionalResponses.POST_LIST, () -> postService.searchPosts(keyword, filter));
     }
 
     @GetMapping("/recent")
     public ResponseEntity<List<PostSummaryDto>> getRecentPosts(
-            @RequestParam(required = false, defaultValue = "5") int limit) {
-        return ResponseEntity.ok(postService.getRecentPosts(limit));
+            @RequestParam(required = false, defaultValue = "5") int limit,
+            WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.postListETag(),
+                ConditionalResponses.POST_LIST, () -> postService.getRecentPosts(limit));
     }
 
     @GetMapping("/popular")
     public ResponseEntity<List<PostSummaryDto>> getPopularPosts(
             @RequestParam(required = false, defaultValue = "5") int limit) {
-        return ResponseEntity.ok(postService.getPopularPosts(limit));
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalResponses.POST_RANKING)
+                .body(postService.getPopularPosts(limit));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<PostSummaryDto>> getTrendingPosts(
+            @RequestParam(required = false, defaultValue = "24h") String window,
+            @RequestParam(required = false, defaultValue = "10") int limit) {
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalResponses.POST_RANKING)
+                .body(postService.getTrendingPosts(window, limit));
     }
 
     @PostMapping("/author/{authorId}")
     public ResponseEntity<PostDto> createPost(
-            @RequestBody PostCreateRequest postRequest,
+            @Valid @RequestBody PostCreateRequest postRequest,
             @PathVariable Long authorId) {
         return new ResponseEntity<>(postService.createPost(postRequest, authorId), HttpStatus.CREATED);
     }
@@ -137,7 +219,7 @@ public class PostController {
     @PutMapping("/{id}")
     public ResponseEntity<PostDto> updatePost(
             @PathVariable Long id, 
-            @RequestBody PostUpdateRequest postRequest) {
+            @Valid @RequestBody PostUpdateRequest postRequest) {
         return ResponseEntity.ok(postService.updatePost(id, postRequest));
     }
 
@@ -152,13 +234,18 @@ public class PostController {
         return ResponseEntity.ok(postService.incrementViews(id));
     }
 
+    @GetMapping("/{id}/like")
+    public ResponseEntity<LikeResponse> getLikeStatus(@PathVariable Long id) {
+        return ResponseEntity.ok(postService.getLikeStatus(id, currentUserProvider.getCurrentUserId().orElse(null)));
+    }
+
     @PostMapping("/{id}/like")
-    public ResponseEntity<PostDto> likePost(@PathVariable Long id) {
-        return ResponseEntity.ok(postService.likePost(id));
+    public ResponseEntity<LikeResponse> likePost(@PathVariable Long id) {
+        return ResponseEntity.ok(postService.likePost(id, currentUserProvider.requireCurrentUserId()));
     }
 
     @PostMapping("/{id}/unlike")
-    public ResponseEntity<PostDto> unlikePost(@PathVariable Long id) {
-        return ResponseEntity.ok(postService.unlikePost(id));
+    public ResponseEntity<LikeResponse> unlikePost(@PathVariable Long id) {
+        return ResponseEntity.ok(postService.unlikePost(id, currentUserProvider.requireCurrentUserId()));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.zxyspace.controller;
+
+import com.zxyspace.dto.PostImportRequest;
+import com.zxyspace.dto.PostImportResultDto;
+import com.zxyspace.security.CurrentUserProvider;
+import com.zxyspace.service.PostImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/posts")
+@PreAuthorize("hasRole('ADMIN')")
+public class PostImportController {
+
+    private final PostImportService postImportService;
+    private final CurrentUserProvider currentUserProvider;
+
+    @Autowired
+    public PostImportController(PostImportService postImportService, CurrentUserProvider currentUserProvider) {
+        this.postImportService = postImportService;
+        this.currentUserProvider = currentUserProvider;
+    }
+
+    // 批量导入文章：逐条校验，不合法的条目跳过并在结果中列出
+    @PostMapping("/import")
+    public ResponseEntity<PostImportResultDto> importPosts(@RequestBody List<PostImportRequest> requests) {
+        return ResponseEntity.ok(postImportService.importPosts(requests, currentUserProvider.requireCurrentUserId()));
+    }
+}
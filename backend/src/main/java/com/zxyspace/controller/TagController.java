@@ -1,11 +1,13 @@
 package com.zxyspace.controller;
 
+import com.zxyspace.cache.ContentVersions;
 import com.zxyspace.dto.TagDto;
 import com.zxyspace.service.TagService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Set;
@@ -15,35 +17,42 @@ import java.util.Set;
 public class TagController {
 
     private final TagService tagService;
+    private final ContentVersions contentVersions;
 
     @Autowired
-    public TagController(TagService tagService) {
+    public TagController(TagService tagService, ContentVersions contentVersions) {
         this.tagService = tagService;
+        this.contentVersions = contentVersions;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TagDto> getTagById(@PathVariable Long id) {
-        return ResponseEntity.ok(tagService.getTagById(id));
+    public ResponseEntity<TagDto> getTagById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.TAGS),
+                ConditionalResponses.TAXONOMY, () -> tagService.getTagById(id));
     }
 
     @GetMapping("/name/{name}")
-    public ResponseEntity<TagDto> getTagByName(@PathVariable String name) {
-        return ResponseEntity.ok(tagService.getTagByName(name));
+    public ResponseEntity<TagDto> getTagByName(@PathVariable String name, WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.TAGS),
+                ConditionalResponses.TAXONOMY, () -> tagService.getTagByName(name));
     }
 
     @GetMapping
-    public ResponseEntity<List<TagDto>> getAllTags() {
-        return ResponseEntity.ok(tagService.getAllTags());
+    public ResponseEntity<List<TagDto>> getAllTags(WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.TAGS),
+                ConditionalResponses.TAXONOMY, () -> tagService.getAllTags());
     }
 
     @GetMapping("/ids")
-    public ResponseEntity<Set<TagDto>> getTagsByIds(@RequestParam Set<Long> ids) {
-        return ResponseEntity.ok(tagService.getTagsByIds(ids));
+    public ResponseEntity<Set<TagDto>> getTagsByIds(@RequestParam Set<Long> ids, WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.TAGS),
+                ConditionalResponses.TAXONOMY, () -> tagService.getTagsByIds(ids));
     }
 
     @GetMapping("/names")
-    public ResponseEntity<List<TagDto>> getTagsByNames(@RequestParam List<String> names) {
-        return ResponseEntity.ok(tagService.getTagsByNames(names));
+    public ResponseEntity<List<TagDto>> getTagsByNames(@RequestParam List<String> names, WebRequest request) {
+        return ConditionalResponses.of(request, contentVersions.etag(ContentVersions.Collection.TAGS),
+                ConditionalResponses.TAXONOMY, () -> tagService.getTagsByNames(names));
     }
 
     @PostMapping
@@ -0,0 +1,55 @@
+package com.zxyspace.counter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 评论数校正任务：按ID区间分块，用实际评论数修复posts.comment_count的漂移
+@Component
+public class CommentCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentCountReconciler.class);
+
+    private static final String RECONCILE_SQL =
+            "UPDATE posts p SET comment_count = " +
+            "(SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id) " +
+            "WHERE p.id > ? AND p.id <= ? AND p.comment_count <> " +
+            "(SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public CommentCountReconciler(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${posts.comment-count.reconcile-chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    // 每个分块单独提交，避免长事务长时间锁住大量文章行
+    @Scheduled(cron = "${posts.comment-count.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM posts", Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        int repaired = 0;
+        for (long fromId = 0; fromId < maxId; fromId += chunkSize) {
+            long lowerBound = fromId;
+            Integer updated = transactionTemplate.execute(status ->
+                    jdbcTemplate.update(RECONCILE_SQL, lowerBound, lowerBound + chunkSize));
+            repaired += updated != null ? updated : 0;
+        }
+        if (repaired > 0) {
+            logger.warn("评论数校正完成，修复了 {} 篇文章的评论数", repaired);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.zxyspace.counter;
+
+import com.zxyspace.repository.CommentLikeRepository;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CommentLikeIndex extends LikeMembershipIndex {
+
+    public CommentLikeIndex(CommentLikeRepository commentLikeRepository) {
+        super(commentLikeRepository::findUserIdsByCommentId);
+    }
+}
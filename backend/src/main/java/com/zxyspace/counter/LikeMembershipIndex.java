@@ -0,0 +1,73 @@
+package com.zxyspace.counter;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// 点赞关系的内存索引：每个目标（文章/评论）一个压缩位图，记录已点赞的用户ID
+public class LikeMembershipIndex {
+
+    private final Function<Long, List<Long>> loader;
+    private final ConcurrentHashMap<Long, RoaringBitmap> bitmaps = new ConcurrentHashMap<>();
+
+    public LikeMembershipIndex(Function<Long, List<Long>> loader) {
+        this.loader = loader;
+    }
+
+    // 首次访问某个目标时从数据库加载，之后直接在内存中判断
+    public boolean contains(Long targetId, Long userId) {
+        RoaringBitmap bitmap = bitmaps.computeIfAbsent(targetId, this::load);
+        synchronized (bitmap) {
+            return bitmap.contains(Math.toIntExact(userId));
+        }
+    }
+
+    // 以下变更都在事务提交后生效，回滚时索引保持不变
+    public void addAfterCommit(Long targetId, Long userId) {
+        afterCommit(() -> bitmaps.computeIfPresent(targetId, (key, bitmap) -> {
+            synchronized (bitmap) {
+                bitmap.add(Math.toIntExact(userId));
+            }
+            return bitmap;
+        }));
+    }
+
+    public void removeAfterCommit(Long targetId, Long userId) {
+        afterCommit(() -> bitmaps.computeIfPresent(targetId, (key, bitmap) -> {
+            synchronized (bitmap) {
+                bitmap.remove(Math.toIntExact(userId));
+            }
+            return bitmap;
+        }));
+    }
+
+    public void evictAfterCommit(Long targetId) {
+        afterCommit(() -> bitmaps.remove(targetId));
+    }
+
+    private RoaringBitmap load(Long targetId) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (Long userId : loader.apply(targetId)) {
+            bitmap.add(Math.toIntExact(userId));
+        }
+        bitmap.runOptimize();
+        return bitmap;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.zxyspace.counter;
+
+import com.zxyspace.repository.PostLikeRepository;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PostLikeIndex extends LikeMembershipIndex {
+
+    public PostLikeIndex(PostLikeRepository postLikeRepository) {
+        super(postLikeRepository::findUserIdsByPostId);
+    }
+}
@@ -0,0 +1,94 @@
+package com.zxyspace.counter;
+
+import com.zxyspace.event.PostCounterChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 浏览量写回缓冲：在内存中累加增量，定期批量写入数据库
+@Component
+public class PostViewCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostViewCounter.class);
+
+    private static final String FLUSH_SQL = "UPDATE posts SET views = views + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 文章ID -> 未写回的增量；merge/computeIfPresent 均按桶加锁，增量不会丢失
+    private final ConcurrentHashMap<Long, Long> pendingViews = new ConcurrentHashMap<>();
+
+    public PostViewCounter(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void increment(Long postId) {
+        pendingViews.merge(postId, 1L, Long::sum);
+    }
+
+    // 尚未写回数据库的增量，用于在读取时叠加到持久化的浏览量上
+    public long getPending(Long postId) {
+        return pendingViews.getOrDefault(postId, 0L);
+    }
+
+    // 定期写回：每篇有增量的文章一条 views = views + ? 语句，整体作为一个JDBC批次执行。
+    // 增量在提交成功前一直留在缓冲中，读取时叠加的浏览量不会在写回期间回退；提交后只扣除已写回的部分，
+    // 写回期间新增的浏览保留到下一轮；失败时缓冲原样保留，等待下次重试。
+    // 写回串行执行：定时写回与停机写回重叠时，两者会读到同一份增量并各写一次
+    @Scheduled(fixedDelayString = "${posts.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        if (pendingViews.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>();
+        pendingViews.forEach((postId, delta) -> {
+            if (delta > 0) {
+                batchArgs.add(new Object[]{delta, postId});
+            }
+        });
+
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+
+        try {
+            // 整批在一个事务中提交，失败时整体回滚，不会部分写入
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs));
+        } catch (RuntimeException ex) {
+            logger.error("浏览量写回失败，{} 篇文章的增量保留在缓冲中等待重试", batchArgs.size(), ex);
+            return;
+        }
+
+        for (Object[] args : batchArgs) {
+            Long postId = (Long) args[1];
+            Long delta = (Long) args[0];
+            // 扣除已写回的增量，归零时移除条目
+            pendingViews.computeIfPresent(postId, (id, pending) -> pending - delta == 0 ? null : pending - delta);
+            // 通知派生数据（如详情缓存）累加已持久化的增量
+            eventPublisher.publishEvent(new PostCounterChangedEvent(postId, delta, 0, 0));
+        }
+    }
+
+    // 应用关闭时写回剩余增量
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,19 @@
+package com.zxyspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 带已发布文章数的分类
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryCountDto {
+
+    private Long id;
+    private String name;
+    private String description;
+    private long postCount;
+}
@@ -12,4 +12,7 @@ public class CommentCreateRequest {
 
     @NotNull
     private Long postId;
+
+    // 被回复的评论ID，为空表示发表顶层评论
+    private Long parentId;
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.zxyspace.dto;
+
+import com.zxyspace.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// 评论列表游标：编码最后一行的 (createdAt, id)，按二者倒序翻页，对客户端不透明
+@Getter
+@AllArgsConstructor
+public class CommentCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private LocalDateTime createdAt;
+    private Long id;
+
+    // 根据当前页最后一行生成下一页游标
+    public static CommentCursor after(CommentRow row) {
+        return new CommentCursor(row.getCreatedAt(), row.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommentCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 2) {
+                throw new BusinessException("Malformed cursor", "INVALID_CURSOR");
+            }
+            return new CommentCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (BusinessException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new BusinessException("Malformed cursor", "INVALID_CURSOR");
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.zxyspace.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -18,6 +20,11 @@ public class CommentDto {
     private UserSummaryDto user;
     private Long postId;
     private int likes;
+    private Long parentId;
+    private int replyCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // 只在回复树接口中返回，普通列表接口为null
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<CommentDto> replies;
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.zxyspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 评论列表投影行：评论列、原始post_id和作者摘要，不加载文章实体
+@Getter
+@AllArgsConstructor
+public class CommentRow {
+
+    private Long id;
+    private String content;
+    private Long postId;
+    private int likes;
+    private Long parentId;
+    private int replyCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long userId;
+    private String username;
+    private String userFirstName;
+    private String userLastName;
+    private String userAvatarUrl;
+}
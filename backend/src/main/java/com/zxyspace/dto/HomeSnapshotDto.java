@@ -0,0 +1,29 @@
+package com.zxyspace.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 首页快照：构建后不可变，可被多个请求线程安全共享
+@Getter
+public class HomeSnapshotDto {
+
+    private final List<PostSummaryDto> recentPosts;
+    private final List<PostSummaryDto> popularPosts;
+    private final List<CategoryCountDto> categories;
+    private final List<TagCountDto> tags;
+    private final LocalDateTime generatedAt;
+
+    public HomeSnapshotDto(List<PostSummaryDto> recentPosts,
+                           List<PostSummaryDto> popularPosts,
+                           List<CategoryCountDto> categories,
+                           List<TagCountDto> tags,
+                           LocalDateTime generatedAt) {
+        this.recentPosts = List.copyOf(recentPosts);
+        this.popularPosts = List.copyOf(popularPosts);
+        this.categories = List.copyOf(categories);
+        this.tags = List.copyOf(tags);
+        this.generatedAt = generatedAt;
+    }
+}
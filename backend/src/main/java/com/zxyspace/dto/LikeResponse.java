@@ -0,0 +1,14 @@
+package com.zxyspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeResponse {
+
+    private boolean liked;
+    private int likes;
+}
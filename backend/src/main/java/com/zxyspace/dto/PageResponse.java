@@ -17,6 +17,8 @@ public class PageResponse<T> {
     private long totalElements;
     private int totalPages;
     private boolean last;
+    // 游标分页模式下的下一页游标，offset模式或已到末页时为null
+    private String nextCursor;
     
     // 手动添加setter和getter方法，解决Lombok可能的编译问题
     public void setContent(List<T> content) {
@@ -67,6 +69,14 @@ public class PageResponse<T> {
         return this.last;
     }
     
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public String getNextCursor() {
+        return this.nextCursor;
+    }
+    
     public static <T> PageResponse<T> of(List<T> content, int page, int size, long totalElements, int totalPages, boolean last) {
         PageResponse<T> response = new PageResponse<>();
         response.setContent(content);
@@ -77,4 +87,11 @@ public class PageResponse<T> {
         response.setLast(last);
         return response;
     }
+    
+    // 游标分页不执行count查询，totalElements和totalPages固定为-1
+    public static <T> PageResponse<T> ofCursor(List<T> content, int size, String nextCursor) {
+        PageResponse<T> response = of(content, 0, size, -1, -1, nextCursor == null);
+        response.setNextCursor(nextCursor);
+        return response;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.zxyspace.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 批量删除文章：指定ID列表，或按条件匹配（条件之间为且关系）；两者只能选其一
+@Data
+public class PostBulkDeleteRequest {
+
+    private List<Long> ids;
+    private Long authorId;
+    private Long categoryId;
+    private Boolean published;
+    // 只删除创建时间早于该时刻的文章
+    private LocalDateTime createdBefore;
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean hasFilter() {
+        return authorId != null || categoryId != null || published != null || createdBefore != null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.zxyspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 批量删除结果：评论数包括被删文章下的全部评论
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostBulkDeleteResultDto {
+
+    private int postsDeleted;
+    private int commentsDeleted;
+    private long elapsedMs;
+}
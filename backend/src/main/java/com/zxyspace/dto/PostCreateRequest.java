@@ -17,6 +17,7 @@ public class PostCreateRequest {
     private String excerpt;
 
     @NotBlank
+    @Size(max = 100000)
     private String content;
 
     private String coverImage;
@@ -0,0 +1,62 @@
+package com.zxyspace.dto;
+
+import com.zxyspace.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+
+// 文章列表游标：编码 (排序列, 方向, 排序键, id)，对客户端不透明
+@Getter
+@AllArgsConstructor
+public class PostCursor {
+
+    // 只允许有索引支撑的排序列参与游标分页：Post上为每种筛选建有 (筛选列, 排序列, id) 索引，新增排序列时需同时补齐；
+    // 标签筛选沿 (published, 排序列, id) 有序扫描、按post_tags主键判断，或经 (tag_id, post_id) 取出该标签的文章后排序
+    public static final Set<String> SORTABLE_COLUMNS = Set.of("createdAt", "views");
+
+    private static final String SEPARATOR = "|";
+
+    private String sortBy;
+    private boolean descending;
+    private Comparable<?> sortKey;
+    private Long id;
+
+    // 校验排序列是否可用于游标分页
+    public static void checkSortable(String sortBy) {
+        if (!SORTABLE_COLUMNS.contains(sortBy)) {
+            throw new BusinessException("Cursor pagination does not support sorting by '" + sortBy + "'", "INVALID_CURSOR");
+        }
+    }
+
+    // 根据当前页最后一行生成下一页游标
+    public static PostCursor after(PostSummaryRow row, String sortBy, boolean descending) {
+        Comparable<?> sortKey = "views".equals(sortBy) ? Integer.valueOf(row.getViews()) : row.getCreatedAt();
+        return new PostCursor(sortBy, descending, sortKey, row.getId());
+    }
+
+    public String encode() {
+        String raw = sortBy + SEPARATOR + (descending ? "desc" : "asc") + SEPARATOR + sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 解析游标，并要求其排序列和方向与本次请求一致
+    public static PostCursor decode(String cursor, String sortBy, boolean descending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 4 || !parts[0].equals(sortBy) || descending != "desc".equals(parts[1])) {
+                throw new BusinessException("Cursor does not match the requested sort order", "INVALID_CURSOR");
+            }
+            Comparable<?> sortKey = "views".equals(sortBy) ? Integer.valueOf(parts[2]) : LocalDateTime.parse(parts[2]);
+            return new PostCursor(sortBy, descending, sortKey, Long.valueOf(parts[3]));
+        } catch (BusinessException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new BusinessException("Malformed cursor", "INVALID_CURSOR");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.zxyspace.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,13 +13,20 @@ import java.util.Set;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class PostDto {
 
     private Long id;
     private String title;
     private String excerpt;
+    // 正文按请求的格式二选一返回：content为Markdown原文，contentHtml为写入时预渲染的HTML
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String content;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String contentHtml;
+    private List<TocEntryDto> toc;
+    private int wordCount;
+    private int readingMinutes;
     private String coverImage;
     private UserSummaryDto author;
     private CategoryDto category;
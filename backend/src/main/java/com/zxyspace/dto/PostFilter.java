@@ -10,10 +10,23 @@ public class PostFilter {
     private String keyword;
     private Long categoryId;
     private List<Long> tagIds;
+    // 多标签匹配方式：any（任一，默认）或 all（全部）
+    private String tagMatch = "any";
     private Long authorId;
     private Boolean published;
     private String sortBy = "createdAt";
     private String sortDirection = "desc";
     private int page = 0;
     private int size = 10;
+    // 分页模式：offset（默认）或 cursor
+    private String pagination = "offset";
+    private String cursor;
+
+    public boolean isCursorMode() {
+        return "cursor".equalsIgnoreCase(pagination);
+    }
+
+    public boolean isMatchAllTags() {
+        return "all".equalsIgnoreCase(tagMatch);
+    }
 } 
\ No newline at end of file
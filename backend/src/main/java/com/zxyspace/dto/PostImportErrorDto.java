@@ -0,0 +1,15 @@
+package com.zxyspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 导入失败的条目：index为请求数组中的下标
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostImportErrorDto {
+
+    private int index;
+    private String message;
+}
@@ -0,0 +1,35 @@
+package com.zxyspace.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.Set;
+
+// 批量导入的单篇文章：分类和标签按名称引用，不存在时自动创建
+@Data
+public class PostImportRequest {
+
+    @NotBlank
+    @Size(max = 100)
+    private String title;
+
+    @Size(max = 255)
+    private String excerpt;
+
+    @NotBlank
+    @Size(max = 100000)
+    private String content;
+
+    private String coverImage;
+
+    // 为空时使用执行导入的管理员
+    private Long authorId;
+
+    @Size(max = 50)
+    private String categoryName;
+
+    private Set<@NotBlank @Size(max = 30) String> tagNames;
+
+    private boolean published = true;
+}
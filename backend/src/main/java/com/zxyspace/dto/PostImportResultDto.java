@@ -0,0 +1,26 @@
+package com.zxyspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 批量导入结果：写入行数包括文章、文章-标签关联以及新建的分类和标签
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostImportResultDto {
+
+    private int received;
+    private int imported;
+    private int failed;
+    private int categoriesCreated;
+    private int tagsCreated;
+    private long rowsWritten;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<PostImportErrorDto> errors;
+}
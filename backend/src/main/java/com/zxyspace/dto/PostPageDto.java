@@ -0,0 +1,22 @@
+package com.zxyspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 文章页聚合响应：超时或失败的部分为null，并在unavailable中列出
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostPageDto {
+
+    private PostDto post;
+    private PageResponse<CommentDto> comments;
+    private Integer commentCount;
+    private List<PostSummaryDto> relatedPosts;
+    private List<String> unavailable;
+}
@@ -0,0 +1,31 @@
+package com.zxyspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 文章列表投影行：只包含摘要所需的列，不加载正文
+@Getter
+@AllArgsConstructor
+public class PostSummaryRow {
+
+    private Long id;
+    private String title;
+    private String excerpt;
+    private String coverImage;
+    private boolean published;
+    private int views;
+    private int likes;
+    private int commentCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long authorId;
+    private String authorUsername;
+    private String authorFirstName;
+    private String authorLastName;
+    private String authorAvatarUrl;
+    private Long categoryId;
+    private String categoryName;
+    private String categoryDescription;
+}
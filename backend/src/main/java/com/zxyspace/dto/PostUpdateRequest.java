@@ -14,6 +14,7 @@ public class PostUpdateRequest {
     @Size(max = 255)
     private String excerpt;
 
+    @Size(max = 100000)
     private String content;
 
     private String coverImage;
@@ -0,0 +1,18 @@
+package com.zxyspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 标签云条目：标签及其已发布文章数
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagCountDto {
+
+    private Long id;
+    private String name;
+    private long postCount;
+}
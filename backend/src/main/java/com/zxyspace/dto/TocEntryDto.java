@@ -0,0 +1,16 @@
+package com.zxyspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 正文目录条目：anchor对应渲染后标题元素的id
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TocEntryDto {
+
+    private int level;
+    private String anchor;
+    private String text;
+}
@@ -0,0 +1,14 @@
+package com.zxyspace.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 评论变更事件（新建、编辑、删除、点赞），用于失效评论相关的派生数据
+@Getter
+@AllArgsConstructor
+public class CommentChangedEvent {
+
+    private Long commentId;
+    // 点赞类变更不加载评论所属文章，此时为null
+    private Long postId;
+}
@@ -0,0 +1,19 @@
+package com.zxyspace.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 文章变更事件：在事务提交后由各类派生数据（索引、缓存等）消费
+@Getter
+@AllArgsConstructor
+public class PostChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private Long postId;
+    private Type type;
+}
@@ -0,0 +1,15 @@
+package com.zxyspace.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 文章计数（浏览量/点赞数/评论数）已持久化的增量
+@Getter
+@AllArgsConstructor
+public class PostCounterChangedEvent {
+
+    private Long postId;
+    private long viewsDelta;
+    private int likesDelta;
+    private int commentsDelta;
+}
@@ -0,0 +1,18 @@
+package com.zxyspace.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 分类/标签变更事件（新建、改名、删除），影响引用它们的文章数据和首页快照
+@Getter
+@AllArgsConstructor
+public class TaxonomyChangedEvent {
+
+    public enum Type {
+        CATEGORY,
+        TAG
+    }
+
+    private Type type;
+    private Long id;
+}
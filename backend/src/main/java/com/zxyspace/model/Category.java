@@ -32,6 +32,7 @@ public class Category extends BaseEntity {
     @Size(max = 255)
     private String description;
 
+    @Builder.Default
     @OneToMany(mappedBy = "category")
     private List<Post> posts = new ArrayList<>();
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.zxyspace.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
@@ -13,8 +15,16 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Entity
-@Table(name = "comments")
+@Table(name = "comments",
+    indexes = {
+        @Index(name = "idx_comments_post_created_at", columnList = "post_id, created_at, id"),
+        @Index(name = "idx_comments_thread_created_at", columnList = "thread_id, created_at, id"),
+        @Index(name = "idx_comments_path", columnList = "path")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,32 +32,41 @@ import lombok.Setter;
 @Builder
 public class Comment extends BaseEntity {
 
+    public static final String PATH_SEPARATOR = "/";
+
     @NotBlank
     @Lob
     @Column(columnDefinition = "TEXT")
     private String content;
 
-    @ManyToOne
+    // 关联均为延迟加载：列表走CommentRow投影，需要完整对象图的地方用实体图显式抓取
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id", nullable = false)
     private Post post;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Builder.Default
     private int likes = 0;
-    
-    // 点赞方法
-    public void like() {
-        this.likes++;
-    }
-    
-    // 取消点赞方法
-    public void unlike() {
-        if (this.likes > 0) {
-            this.likes--;
-        }
-    }
+
+    // 回复关系：parentId为直接父评论，threadId为所在楼层的顶层评论（顶层评论自身为null）
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @Column(name = "thread_id")
+    private Long threadId;
+
+    // 物化路径：祖先评论ID链，如 "12/57/"，顶层评论为空串；按前缀匹配即可一次取回整棵回复子树
+    @Builder.Default
+    @Column(nullable = false)
+    private String path = "";
+
+    // 子树中的回复总数（含间接回复），增删回复时在SQL中增量维护
+    @Builder.Default
+    @Column(name = "reply_count", nullable = false)
+    private int replyCount = 0;
     
     // 手动添加setPost方法，解决Lombok可能的编译问题
     public void setPost(Post post) {
@@ -57,4 +76,25 @@ public class Comment extends BaseEntity {
     public Post getPost() {
         return this.post;
     }
+
+    // 所在楼层的顶层评论ID
+    public Long threadRootId() {
+        return threadId != null ? threadId : getId();
+    }
+
+    // 子孙评论的路径前缀：自身的祖先链加上自身ID
+    public String childPath() {
+        return path + getId() + PATH_SEPARATOR;
+    }
+
+    // 从物化路径中解析祖先ID，按从顶层到直接父评论的顺序
+    public static List<Long> ancestorIds(String path) {
+        List<Long> ids = new ArrayList<>();
+        for (String segment : path.split(PATH_SEPARATOR)) {
+            if (!segment.isEmpty()) {
+                ids.add(Long.valueOf(segment));
+            }
+        }
+        return ids;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.zxyspace.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 评论点赞关系：每个用户对同一条评论最多一条记录
+@Entity
+@Table(name = "comment_likes",
+    uniqueConstraints = @UniqueConstraint(name = "uk_comment_likes_comment_user", columnNames = {"comment_id", "user_id"}),
+    indexes = @Index(name = "idx_comment_likes_user", columnList = "user_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentLike extends BaseEntity {
+
+    @Column(name = "comment_id", nullable = false)
+    private Long commentId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+}
@@ -3,9 +3,10 @@ package com.zxyspace.model;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
-import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -24,7 +25,17 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    // 支撑列表排序与游标分页的复合索引：每种筛选（无、发布状态、作者、分类）× 每个可排序列（见PostCursor.SORTABLE_COLUMNS）
+    @Index(name = "idx_posts_created_at", columnList = "created_at, id"),
+    @Index(name = "idx_posts_views", columnList = "views, id"),
+    @Index(name = "idx_posts_published_created_at", columnList = "published, created_at, id"),
+    @Index(name = "idx_posts_published_views", columnList = "published, views, id"),
+    @Index(name = "idx_posts_author_created_at", columnList = "author_id, created_at, id"),
+    @Index(name = "idx_posts_author_views", columnList = "author_id, views, id"),
+    @Index(name = "idx_posts_category_created_at", columnList = "category_id, created_at, id"),
+    @Index(name = "idx_posts_category_views", columnList = "category_id, views, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,37 +50,48 @@ public class Post extends BaseEntity {
     @Size(max = 255)
     private String excerpt;
 
-    @NotBlank
-    @Lob
-    @Column(columnDefinition = "TEXT")
-    private String content;
+    // 正文单独存放在post_bodies表（见PostBody），列表等查询读取posts时不再带出大字段
 
     private String coverImage;
 
-    @ManyToOne
+    // 作者和分类延迟加载：列表走摘要投影，详情通过PostRepository.findDetailById的实体图一次取回
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
+    // 主键 (post_id, tag_id) 用于按文章判断标签；(tag_id, post_id) 用于按标签取文章
     @ManyToMany
     @JoinTable(
         name = "post_tags",
         joinColumns = @JoinColumn(name = "post_id"),
-        inverseJoinColumns = @JoinColumn(name = "tag_id")
+        inverseJoinColumns = @JoinColumn(name = "tag_id"),
+        indexes = @Index(name = "idx_post_tags_tag", columnList = "tag_id, post_id")
     )
+    @Builder.Default
     private Set<Tag> tags = new HashSet<>();
 
+    // 评论增删直接通过CommentRepository，删除文章由ContentPurger集合式清理，都不经由此集合：初始化它会加载文章的全部评论
+    @Builder.Default
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
 
+    @Builder.Default
     private boolean published = true;
 
+    @Builder.Default
     private int views = 0;
 
+    @Builder.Default
     private int likes = 0;
+
+    // 冗余的评论数，只通过SQL原子增减维护，实体更新时不写回该列
+    @Builder.Default
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private int commentCount = 0;
     
     // 辅助方法：添加标签
     public void addTag(Tag tag) {
@@ -82,33 +104,4 @@ public class Post extends BaseEntity {
         tags.remove(tag);
         tag.getPosts().remove(this);
     }
-    
-    // 辅助方法：添加评论
-    public void addComment(Comment comment) {
-        comments.add(comment);
-        comment.setPost(this);
-    }
-    
-    // 辅助方法：移除评论
-    public void removeComment(Comment comment) {
-        comments.remove(comment);
-        comment.setPost(null);
-    }
-    
-    // 辅助方法：增加浏览量
-    public void incrementViews() {
-        this.views++;
-    }
-    
-    // 辅助方法：点赞
-    public void like() {
-        this.likes++;
-    }
-    
-    // 辅助方法：取消点赞
-    public void unlike() {
-        if (this.likes > 0) {
-            this.likes--;
-        }
-    }
 }
\ No newline at end of file
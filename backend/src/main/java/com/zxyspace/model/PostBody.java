@@ -0,0 +1,92 @@
+package com.zxyspace.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+// 文章正文：从posts主表拆出，只在详情读取时加载；data按encoding存储Markdown原文或压缩后的字节
+@Entity
+@Table(name = "post_bodies")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PostBody implements Persistable<Long> {
+
+    public enum Encoding {
+        // UTF-8原文
+        PLAIN,
+        // Deflate + 第一版预置字典；字典变更时新增枚举值，旧数据仍可解码
+        DEFLATE_V1
+    }
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Encoding encoding;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+
+    // 以下为写入时由MarkdownRenderer派生的列，rendererVersion落后于当前渲染器版本时由PostBodyRenderJob重新生成
+    @Enumerated(EnumType.STRING)
+    @Column(name = "html_encoding", length = 16)
+    private Encoding htmlEncoding;
+
+    @Lob
+    private byte[] html;
+
+    // 目录（TocEntryDto数组的JSON）
+    @Lob
+    private String toc;
+
+    @Column(name = "word_count")
+    private Integer wordCount;
+
+    @Column(name = "reading_minutes")
+    private Integer readingMinutes;
+
+    @Column(name = "renderer_version")
+    private Integer rendererVersion;
+
+    // 主键由文章ID决定，新建时标记为新实体，save直接persist而不先按主键查询，便于批量插入
+    @Transient
+    private boolean created;
+
+    public PostBody(Long postId, Encoding encoding, byte[] data) {
+        this.postId = postId;
+        this.encoding = encoding;
+        this.data = data;
+        this.created = true;
+    }
+
+    @Override
+    public Long getId() {
+        return postId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return created;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        created = false;
+    }
+}
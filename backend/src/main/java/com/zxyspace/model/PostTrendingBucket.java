@@ -0,0 +1,46 @@
+package com.zxyspace.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 热门榜小时桶检查点：某篇文章在某个小时内累计的互动权重（未衰减）
+@Entity
+@Table(name = "post_trending_buckets",
+    uniqueConstraints = @UniqueConstraint(name = "uk_post_trending_buckets_post_hour", columnNames = {"post_id", "bucket_hour"}),
+    indexes = @Index(name = "idx_post_trending_buckets_hour", columnList = "bucket_hour"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostTrendingBucket {
+
+    // 只由热门榜检查点通过JDBC批量写入，不经过Hibernate，保留数据库自增主键
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    // 自1970-01-01起的小时数（UTC）
+    @Column(name = "bucket_hour", nullable = false)
+    private long bucketHour;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -29,6 +29,7 @@ public class Tag extends BaseEntity {
     @Column(unique = true)
     private String name;
 
+    @Builder.Default
     @ManyToMany(mappedBy = "tags")
     private Set<Post> posts = new HashSet<>();
     
@@ -0,0 +1,235 @@
+package com.zxyspace.purge;
+
+import com.zxyspace.counter.CommentLikeIndex;
+import com.zxyspace.counter.PostLikeIndex;
+import com.zxyspace.dto.PostBulkDeleteRequest;
+import com.zxyspace.event.CommentChangedEvent;
+import com.zxyspace.event.PostChangedEvent;
+import com.zxyspace.event.PostCounterChangedEvent;
+import com.zxyspace.model.Comment;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 文章/用户的集合式删除：按外键依赖顺序，对每块ID执行少量 DELETE ... WHERE post_id IN (...)，
+// 不加载实体，也不经过JPA级联逐条删除；需在调用方事务内执行，缓存、索引等派生数据在事务提交后通过事件失效
+@Component
+public class ContentPurger {
+
+    // 按外键依赖顺序排列：引用方在前，文章本身最后
+    private static final String COMMENT_LIKES_OF_POSTS_SQL =
+            "DELETE FROM comment_likes WHERE comment_id IN (SELECT id FROM comments WHERE post_id IN (%s))";
+    private static final String COMMENTS_OF_POSTS_SQL = "DELETE FROM comments WHERE post_id IN (%s)";
+    private static final String POST_LIKES_SQL = "DELETE FROM post_likes WHERE post_id IN (%s)";
+    private static final String POST_TAGS_SQL = "DELETE FROM post_tags WHERE post_id IN (%s)";
+    private static final String POST_BODIES_SQL = "DELETE FROM post_bodies WHERE post_id IN (%s)";
+    private static final String TRENDING_BUCKETS_SQL = "DELETE FROM post_trending_buckets WHERE post_id IN (%s)";
+    private static final String POSTS_SQL = "DELETE FROM posts WHERE id IN (%s)";
+
+    private static final String USER_COMMENTS_SQL = "SELECT id, post_id, path, reply_count FROM comments WHERE user_id = ?";
+    private static final String REPLY_COUNT_SQL = "UPDATE comments SET reply_count = reply_count - ? WHERE id = ?";
+    private static final String COMMENT_COUNT_SQL =
+            "UPDATE posts SET comment_count = CASE WHEN comment_count > ? THEN comment_count - ? ELSE 0 END WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostLikeIndex postLikeIndex;
+    private final CommentLikeIndex commentLikeIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public ContentPurger(JdbcTemplate jdbcTemplate,
+                         PostLikeIndex postLikeIndex,
+                         CommentLikeIndex commentLikeIndex,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${posts.delete.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postLikeIndex = postLikeIndex;
+        this.commentLikeIndex = commentLikeIndex;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    public PurgeResult purgePosts(List<Long> postIds) {
+        PurgeResult result = new PurgeResult();
+        for (int from = 0; from < postIds.size(); from += chunkSize) {
+            purgePostChunk(postIds.subList(from, Math.min(from + chunkSize, postIds.size())), result);
+        }
+        return result;
+    }
+
+    // 按条件匹配的文章：按ID分块查出后逐块删除，文章很多时每条语句的IN列表长度仍然有界
+    public PurgeResult purgePostsMatching(PostBulkDeleteRequest filter) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> filterArgs = new ArrayList<>();
+        if (filter.getAuthorId() != null) {
+            conditions.add("author_id = ?");
+            filterArgs.add(filter.getAuthorId());
+        }
+        if (filter.getCategoryId() != null) {
+            conditions.add("category_id = ?");
+            filterArgs.add(filter.getCategoryId());
+        }
+        if (filter.getPublished() != null) {
+            conditions.add("published = ?");
+            filterArgs.add(filter.getPublished());
+        }
+        if (filter.getCreatedBefore() != null) {
+            conditions.add("created_at < ?");
+            filterArgs.add(Timestamp.valueOf(filter.getCreatedBefore()));
+        }
+        conditions.add("id > ?");
+        String sql = "SELECT id FROM posts WHERE " + String.join(" AND ", conditions) + " ORDER BY id LIMIT ?";
+
+        PurgeResult result = new PurgeResult();
+        long afterId = 0;
+        List<Long> chunk;
+        do {
+            List<Object> args = new ArrayList<>(filterArgs);
+            args.add(afterId);
+            args.add(chunkSize);
+            chunk = jdbcTemplate.queryForList(sql, Long.class, args.toArray());
+            if (chunk.isEmpty()) {
+                break;
+            }
+            purgePostChunk(chunk, result);
+            afterId = chunk.get(chunk.size() - 1);
+        } while (chunk.size() == chunkSize);
+        return result;
+    }
+
+    // 删除用户：先删其全部文章（连同文章下他人的评论），再撤销其点赞、删除其在他人文章下的评论（连同回复子树），最后删除用户本身
+    public PurgeResult purgeUser(Long userId) {
+        PostBulkDeleteRequest byAuthor = new PostBulkDeleteRequest();
+        byAuthor.setAuthorId(userId);
+        PurgeResult result = purgePostsMatching(byAuthor);
+        purgeUserLikes(userId);
+        purgeUserComments(userId, result);
+        result.users = jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        return result;
+    }
+
+    private void purgePostChunk(List<Long> postIds, PurgeResult result) {
+        String placeholders = placeholders(postIds.size());
+        Object[] args = postIds.toArray();
+        jdbcTemplate.update(String.format(COMMENT_LIKES_OF_POSTS_SQL, placeholders), args);
+        int comments = jdbcTemplate.update(String.format(COMMENTS_OF_POSTS_SQL, placeholders), args);
+        jdbcTemplate.update(String.format(POST_LIKES_SQL, placeholders), args);
+        jdbcTemplate.update(String.format(POST_TAGS_SQL, placeholders), args);
+        jdbcTemplate.update(String.format(POST_BODIES_SQL, placeholders), args);
+        jdbcTemplate.update(String.format(TRENDING_BUCKETS_SQL, placeholders), args);
+        result.posts += jdbcTemplate.update(String.format(POSTS_SQL, placeholders), args);
+        result.comments += comments;
+
+        for (Long postId : postIds) {
+            postLikeIndex.evictAfterCommit(postId);
+            eventPublisher.publishEvent(new PostChangedEvent(postId, PostChangedEvent.Type.DELETED));
+        }
+        if (comments > 0) {
+            eventPublisher.publishEvent(new CommentChangedEvent(null, null));
+        }
+    }
+
+    // 撤销用户对他人文章和评论的点赞，计数在SQL中按集合扣减
+    private void purgeUserLikes(Long userId) {
+        List<Long> likedPosts = jdbcTemplate.queryForList(
+                "SELECT post_id FROM post_likes WHERE user_id = ?", Long.class, userId);
+        if (!likedPosts.isEmpty()) {
+            jdbcTemplate.update("UPDATE posts SET likes = likes - 1 WHERE likes > 0 AND " +
+                    "id IN (SELECT post_id FROM post_likes WHERE user_id = ?)", userId);
+            jdbcTemplate.update("DELETE FROM post_likes WHERE user_id = ?", userId);
+            for (Long postId : likedPosts) {
+                postLikeIndex.evictAfterCommit(postId);
+                eventPublisher.publishEvent(new PostCounterChangedEvent(postId, 0, -1, 0));
+            }
+        }
+
+        List<Long> likedComments = jdbcTemplate.queryForList(
+                "SELECT comment_id FROM comment_likes WHERE user_id = ?", Long.class, userId);
+        if (!likedComments.isEmpty()) {
+            jdbcTemplate.update("UPDATE comments SET likes = likes - 1 WHERE likes > 0 AND " +
+                    "id IN (SELECT comment_id FROM comment_likes WHERE user_id = ?)", userId);
+            jdbcTemplate.update("DELETE FROM comment_likes WHERE user_id = ?", userId);
+            likedComments.forEach(commentLikeIndex::evictAfterCommit);
+            eventPublisher.publishEvent(new CommentChangedEvent(null, null));
+        }
+    }
+
+    // 用户在他人文章下的评论：只需删除各子树的根（祖先中没有该用户其他评论的评论），其余评论随子树一起删除；
+    // 祖先的回复数和文章评论数按各子树大小在内存中汇总后批量扣减
+    private void purgeUserComments(Long userId, PurgeResult result) {
+        List<OwnComment> own = jdbcTemplate.query(USER_COMMENTS_SQL,
+                (rs, rowNum) -> new OwnComment(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getInt(4)), userId);
+        if (own.isEmpty()) {
+            return;
+        }
+
+        Set<Long> ownIds = new HashSet<>();
+        own.forEach(comment -> ownIds.add(comment.id()));
+        List<OwnComment> roots = new ArrayList<>();
+        Map<Long, Integer> replyDeltas = new HashMap<>();
+        Map<Long, Integer> commentDeltas = new HashMap<>();
+        for (OwnComment comment : own) {
+            List<Long> ancestors = Comment.ancestorIds(comment.path());
+            if (ancestors.stream().anyMatch(ownIds::contains)) {
+                continue;
+            }
+            roots.add(comment);
+            int removed = 1 + comment.replyCount();
+            ancestors.forEach(ancestorId -> replyDeltas.merge(ancestorId, removed, Integer::sum));
+            commentDeltas.merge(comment.postId(), removed, Integer::sum);
+        }
+
+        for (int from = 0; from < roots.size(); from += chunkSize) {
+            List<OwnComment> chunk = roots.subList(from, Math.min(from + chunkSize, roots.size()));
+            List<Object> args = new ArrayList<>();
+            StringBuilder condition = new StringBuilder("id IN (").append(placeholders(chunk.size())).append(')');
+            chunk.forEach(comment -> args.add(comment.id()));
+            for (OwnComment comment : chunk) {
+                if (comment.replyCount() > 0) {
+                    condition.append(" OR path LIKE ?");
+                    args.add(comment.path() + comment.id() + Comment.PATH_SEPARATOR + "%");
+                }
+            }
+            jdbcTemplate.update("DELETE FROM comment_likes WHERE comment_id IN (SELECT id FROM comments WHERE " + condition + ")",
+                    args.toArray());
+            result.comments += jdbcTemplate.update("DELETE FROM comments WHERE " + condition, args.toArray());
+        }
+
+        jdbcTemplate.batchUpdate(REPLY_COUNT_SQL, replyDeltas.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList());
+        jdbcTemplate.batchUpdate(COMMENT_COUNT_SQL, commentDeltas.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getValue(), entry.getKey()})
+                .toList());
+        commentDeltas.forEach((postId, removed) ->
+                eventPublisher.publishEvent(new PostCounterChangedEvent(postId, 0, 0, -removed)));
+        eventPublisher.publishEvent(new CommentChangedEvent(null, null));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private record OwnComment(long id, long postId, String path, int replyCount) {
+    }
+
+    // 删除的行数，只统计文章、评论和用户本身
+    @Getter
+    public static class PurgeResult {
+
+        private int posts;
+        private int comments;
+        private int users;
+    }
+}
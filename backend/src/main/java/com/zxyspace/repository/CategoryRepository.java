@@ -1,9 +1,12 @@
 package com.zxyspace.repository;
 
+import com.zxyspace.dto.CategoryCountDto;
 import com.zxyspace.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
     
     boolean existsByName(String name);
+    
+    // 各分类的已发布文章数，一次分组查询
+    @Query("SELECT new com.zxyspace.dto.CategoryCountDto(c.id, c.name, c.description, COUNT(p)) " +
+           "FROM Category c LEFT JOIN c.posts p ON p.published = true " +
+           "GROUP BY c.id, c.name, c.description ORDER BY c.name")
+    List<CategoryCountDto> findAllWithPostCounts();
 } 
\ No newline at end of file
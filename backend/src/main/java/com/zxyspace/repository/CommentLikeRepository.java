@@ -0,0 +1,31 @@
+package com.zxyspace.repository;
+
+import com.zxyspace.model.CommentLike;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CommentLikeRepository extends JpaRepository<CommentLike, Long> {
+    
+    @Query("SELECT l.userId FROM CommentLike l WHERE l.commentId = :commentId")
+    List<Long> findUserIdsByCommentId(@Param("commentId") Long commentId);
+    
+    boolean existsByCommentIdAndUserId(Long commentId, Long userId);
+    
+    @Modifying
+    @Query("DELETE FROM CommentLike l WHERE l.commentId = :commentId AND l.userId = :userId")
+    int deleteByCommentIdAndUserId(@Param("commentId") Long commentId, @Param("userId") Long userId);
+    
+    @Modifying
+    @Query("DELETE FROM CommentLike l WHERE l.commentId = :commentId")
+    int deleteByCommentId(@Param("commentId") Long commentId);
+    
+    @Modifying
+    @Query("DELETE FROM CommentLike l WHERE l.commentId IN :commentIds")
+    int deleteByCommentIdIn(@Param("commentIds") List<Long> commentIds);
+}
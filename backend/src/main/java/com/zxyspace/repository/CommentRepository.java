@@ -1,23 +1,87 @@
 package com.zxyspace.repository;
 
+import com.zxyspace.dto.CommentRow;
 import com.zxyspace.model.Comment;
-import com.zxyspace.model.Post;
-import com.zxyspace.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentRepositoryCustom {
     
-    List<Comment> findByPost(Post post);
+    // 评论投影：只查询评论列、外键post_id和作者摘要，一条SQL取回，不加载文章及其作者/分类
+    String ROW_SELECT = "SELECT new com.zxyspace.dto.CommentRow(" +
+           "c.id, c.content, c.post.id, c.likes, c.parentId, c.replyCount, c.createdAt, c.updatedAt, " +
+           "u.id, u.username, u.firstName, u.lastName, u.avatarUrl) " +
+           "FROM Comment c JOIN c.user u ";
     
-    Page<Comment> findByPost(Post post, Pageable pageable);
+    @Query(ROW_SELECT + "WHERE c.id = :id")
+    Optional<CommentRow> findRowById(@Param("id") Long id);
     
-    Page<Comment> findByUser(User user, Pageable pageable);
+    // 不分页列表按ID正序，由调用方通过pageable限制最大行数
+    @Query(ROW_SELECT + "WHERE c.post.id = :postId ORDER BY c.id")
+    List<CommentRow> findOldestRowsByPostId(@Param("postId") Long postId, Pageable pageable);
     
-    int countByPost(Post post);
-} 
\ No newline at end of file
+    @Query(value = ROW_SELECT + "WHERE c.post.id = :postId",
+           countQuery = "SELECT COUNT(c) FROM Comment c WHERE c.post.id = :postId")
+    Page<CommentRow> findRowsByPostId(@Param("postId") Long postId, Pageable pageable);
+    
+    // 游标分页：按 (createdAt, id) 倒序，由 (post_id, created_at, id) 索引支撑，任意深度都只扫描一页的行
+    @Query(ROW_SELECT + "WHERE c.post.id = :postId ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentRow> findRowsByPostIdKeyset(@Param("postId") Long postId, Pageable pageable);
+    
+    @Query(ROW_SELECT + "WHERE c.post.id = :postId " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentRow> findRowsByPostIdKeysetAfter(@Param("postId") Long postId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+    
+    @Query(value = ROW_SELECT + "WHERE u.id = :userId",
+           countQuery = "SELECT COUNT(c) FROM Comment c WHERE c.user.id = :userId")
+    Page<CommentRow> findRowsByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    // 回复子树：评论自身及路径以其子孙前缀开头的所有回复，由path索引支撑，一条SQL取回，不按层级递归查询
+    @Query(ROW_SELECT + "JOIN Comment a ON a.id = :id " +
+           "WHERE c.id = a.id OR c.path LIKE CONCAT(a.path, :segment, '%') " +
+           "ORDER BY c.createdAt, c.id")
+    List<CommentRow> findSubtreeRows(@Param("id") Long id, @Param("segment") String segment, Pageable pageable);
+    
+    @Query("SELECT c.id FROM Comment c WHERE c.path LIKE CONCAT(:prefix, '%')")
+    List<Long> findIdsByPathPrefix(@Param("prefix") String prefix);
+    
+    // 回复数按祖先链批量增减，一条SQL更新整条祖先路径
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + :delta WHERE c.id IN :ids")
+    int adjustReplyCounts(@Param("ids") List<Long> ids, @Param("delta") int delta);
+    
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+    
+    // 修改评论后需要返回作者摘要，连同作者一次取回
+    @EntityGraph(attributePaths = "user")
+    Optional<Comment> findWithUserById(Long id);
+    
+    @Query("SELECT c.likes FROM Comment c WHERE c.id = :id")
+    Optional<Integer> findLikesById(@Param("id") Long id);
+    
+    // 点赞计数在SQL中原子增减
+    @Modifying
+    @Query("UPDATE Comment c SET c.likes = c.likes + 1 WHERE c.id = :id")
+    int incrementLikes(@Param("id") Long id);
+    
+    @Modifying
+    @Query("UPDATE Comment c SET c.likes = c.likes - 1 WHERE c.id = :id AND c.likes > 0")
+    int decrementLikes(@Param("id") Long id);
+}
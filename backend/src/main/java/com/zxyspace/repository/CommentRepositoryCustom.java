@@ -0,0 +1,12 @@
+package com.zxyspace.repository;
+
+import com.zxyspace.dto.CommentCursor;
+import com.zxyspace.dto.CommentRow;
+
+import java.util.List;
+
+public interface CommentRepositoryCustom {
+    
+    // 楼层列表：按 (createdAt, id) 倒序取一页顶层评论，连同每个楼层按时间正序的前replies条回复，一条SQL取回
+    List<CommentRow> findThreadRows(Long postId, CommentCursor cursor, int threads, int replies);
+}
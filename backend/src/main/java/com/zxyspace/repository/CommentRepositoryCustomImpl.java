@@ -0,0 +1,75 @@
+package com.zxyspace.repository;
+
+import com.zxyspace.dto.CommentCursor;
+import com.zxyspace.dto.CommentRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    // 一页顶层评论，按 (post_id, created_at, id) 索引倒序读取
+    private static final String ROOTS_SQL =
+            "SELECT id FROM comments WHERE post_id = ? AND parent_id IS NULL %s" +
+            "ORDER BY created_at DESC, id DESC LIMIT ?";
+    private static final String KEYSET_CONDITION = "AND (created_at < ? OR (created_at = ? AND id < ?)) ";
+    // 顶层评论加上各楼层的前N条回复：回复按 (thread_id, created_at, id) 索引读取，窗口函数在数据库内截断，
+    // 只有需要的行才返回给应用（以派生表而非WITH子句书写，H2不支持在CTE中绑定参数）
+    private static final String THREADS_SQL =
+            "SELECT c.id, c.content, c.post_id, c.likes, c.parent_id, c.reply_count, c.created_at, c.updated_at, " +
+            "u.id, u.username, u.first_name, u.last_name, u.avatar_url " +
+            "FROM (" +
+            "SELECT roots.id FROM (" + ROOTS_SQL + ") roots " +
+            "UNION ALL " +
+            "SELECT ranked.id FROM (" +
+            "SELECT t.id, ROW_NUMBER() OVER (PARTITION BY t.thread_id ORDER BY t.created_at, t.id) AS rn " +
+            "FROM comments t JOIN (" + ROOTS_SQL + ") thread_roots ON t.thread_id = thread_roots.id" +
+            ") ranked WHERE ranked.rn <= ?" +
+            ") picked " +
+            "JOIN comments c ON c.id = picked.id " +
+            "JOIN users u ON u.id = c.user_id " +
+            "ORDER BY c.created_at, c.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CommentRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<CommentRow> findThreadRows(Long postId, CommentCursor cursor, int threads, int replies) {
+        // 顶层评论子查询出现两次，参数依次绑定两遍
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            args.add(postId);
+            if (cursor != null) {
+                Timestamp createdAt = Timestamp.valueOf(cursor.getCreatedAt());
+                args.add(createdAt);
+                args.add(createdAt);
+                args.add(cursor.getId());
+            }
+            args.add(threads);
+        }
+        args.add(replies);
+        String keyset = cursor != null ? KEYSET_CONDITION : "";
+        String sql = String.format(THREADS_SQL, keyset, keyset);
+        
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new CommentRow(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getLong(3),
+                rs.getInt(4),
+                rs.getObject(5, Long.class),
+                rs.getInt(6),
+                rs.getObject(7, LocalDateTime.class),
+                rs.getObject(8, LocalDateTime.class),
+                rs.getLong(9),
+                rs.getString(10),
+                rs.getString(11),
+                rs.getString(12),
+                rs.getString(13)), args.toArray());
+    }
+}
@@ -0,0 +1,25 @@
+package com.zxyspace.repository;
+
+import com.zxyspace.body.PostBodySource;
+import com.zxyspace.model.PostBody;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PostBodyRepository extends JpaRepository<PostBody, Long> {
+    
+    // 只读Markdown原文（搜索索引、更新时回填），不带出渲染后的HTML
+    @Query("SELECT new com.zxyspace.body.PostBodySource(b.postId, b.encoding, b.data) " +
+           "FROM PostBody b WHERE b.postId = :postId")
+    Optional<PostBodySource> findSourceByPostId(@Param("postId") Long postId);
+    
+    @Query("SELECT new com.zxyspace.body.PostBodySource(b.postId, b.encoding, b.data) " +
+           "FROM PostBody b WHERE b.postId IN :postIds")
+    List<PostBodySource> findSourcesByPostIdIn(@Param("postIds") Collection<Long> postIds);
+}
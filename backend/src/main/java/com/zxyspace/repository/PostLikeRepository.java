@@ -0,0 +1,23 @@
+package com.zxyspace.repository;
+
+import com.zxyspace.model.PostLike;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
+    
+    @Query("SELECT l.userId FROM PostLike l WHERE l.postId = :postId")
+    List<Long> findUserIdsByPostId(@Param("postId") Long postId);
+    
+    boolean existsByPostIdAndUserId(Long postId, Long userId);
+    
+    @Modifying
+    @Query("DELETE FROM PostLike l WHERE l.postId = :postId AND l.userId = :userId")
+    int deleteByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
+}
@@ -1,34 +1,127 @@
 package com.zxyspace.repository;
 
-import com.zxyspace.model.Category;
+import com.zxyspace.dto.PostSummaryRow;
 import com.zxyspace.model.Post;
-import com.zxyspace.model.User;
+import com.zxyspace.search.PostSearchDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
+
+    // 列表摘要投影：只查询摘要列及作者/分类摘要，不加载正文
+    String SUMMARY_SELECT = "SELECT new com.zxyspace.dto.PostSummaryRow(" +
+           "p.id, p.title, p.excerpt, p.coverImage, p.published, p.views, p.likes, p.commentCount, p.createdAt, p.updatedAt, " +
+           "a.id, a.username, a.firstName, a.lastName, a.avatarUrl, " +
+           "c.id, c.name, c.description) " +
+           "FROM Post p JOIN p.author a LEFT JOIN p.category c ";
+    
+    // 详情：作者、分类和标签随文章一次取回，映射PostDto时不再逐个触发延迟加载
+    @EntityGraph(attributePaths = {"author", "category", "tags"})
+    Optional<Post> findDetailById(Long id);
+    
+    @Query(value = SUMMARY_SELECT,
+           countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostSummaryRow> findAllSummaries(Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE p.published = true",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.published = true")
+    Page<PostSummaryRow> findPublishedSummaries(Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE p.published = true AND a.id = :authorId",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.published = true AND p.author.id = :authorId")
+    Page<PostSummaryRow> findPublishedSummariesByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE p.published = true AND c.id = :categoryId",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.published = true AND p.category.id = :categoryId")
+    Page<PostSummaryRow> findPublishedSummariesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.published = true AND p.id IN :ids")
+    List<PostSummaryRow> findPublishedSummariesByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.published = true ORDER BY p.createdAt DESC")
+    List<PostSummaryRow> findRecentSummaries(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.published = true ORDER BY p.views DESC")
+    List<PostSummaryRow> findPopularSummaries(Pageable pageable);
+    
+    // 相关文章：同分类下除当前文章外最新的文章
+    @Query(SUMMARY_SELECT + "WHERE p.published = true AND c.id = :categoryId AND p.id <> :postId ORDER BY p.createdAt DESC")
+    List<PostSummaryRow> findRelatedSummaries(@Param("categoryId") Long categoryId,
+                                              @Param("postId") Long postId,
+                                              Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.published = true AND p.id <> :postId ORDER BY p.createdAt DESC")
+    List<PostSummaryRow> findRecentSummariesExcluding(@Param("postId") Long postId, Pageable pageable);
+    
+    // 标签筛选（任一匹配）：在 post_tags 上分页排序
+    @Query(value = SUMMARY_SELECT + "WHERE p.published = true AND p.id IN " +
+           "(SELECT pt.id FROM Post pt JOIN pt.tags t WHERE t.id IN :tagIds)",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.published = true AND p.id IN " +
+           "(SELECT pt.id FROM Post pt JOIN pt.tags t WHERE t.id IN :tagIds)")
+    Page<PostSummaryRow> findPublishedSummariesByAnyTag(@Param("tagIds") Collection<Long> tagIds, Pageable pageable);
+    
+    // 标签筛选（全部匹配）：文章需同时带有所有给定标签
+    @Query(value = SUMMARY_SELECT + "WHERE p.published = true AND p.id IN " +
+           "(SELECT pt.id FROM Post pt JOIN pt.tags t WHERE t.id IN :tagIds " +
+           "GROUP BY pt.id HAVING COUNT(DISTINCT t.id) = :tagCount)",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.published = true AND p.id IN " +
+           "(SELECT pt.id FROM Post pt JOIN pt.tags t WHERE t.id IN :tagIds " +
+           "GROUP BY pt.id HAVING COUNT(DISTINCT t.id) = :tagCount)")
+    Page<PostSummaryRow> findPublishedSummariesByAllTags(@Param("tagIds") Collection<Long> tagIds,
+                                                         @Param("tagCount") long tagCount,
+                                                         Pageable pageable);
+    
+    // 搜索索引构建：按ID顺序分批读取已发布文章的文本字段
+    @Query("SELECT new com.zxyspace.search.PostSearchDocument(p.id, p.title, p.excerpt) " +
+           "FROM Post p WHERE p.published = true AND p.id > :afterId ORDER BY p.id")
+    List<PostSearchDocument> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.zxyspace.search.PostSearchDocument(p.id, p.title, p.excerpt) " +
+           "FROM Post p WHERE p.published = true AND p.id = :id")
+    Optional<PostSearchDocument> findSearchDocument(@Param("id") Long id);
+    
+    @Query("SELECT p.likes FROM Post p WHERE p.id = :id")
+    Optional<Integer> findLikesById(@Param("id") Long id);
+    
+    // 点赞计数在SQL中原子增减
+    @Modifying
+    @Query("UPDATE Post p SET p.likes = p.likes + 1 WHERE p.id = :id")
+    int incrementLikes(@Param("id") Long id);
     
-    Page<Post> findByPublishedTrue(Pageable pageable);
+    @Modifying
+    @Query("UPDATE Post p SET p.likes = p.likes - 1 WHERE p.id = :id AND p.likes > 0")
+    int decrementLikes(@Param("id") Long id);
     
-    Page<Post> findByAuthorAndPublishedTrue(User author, Pageable pageable);
+    @Query("SELECT p.commentCount FROM Post p WHERE p.id = :id")
+    Optional<Integer> findCommentCountById(@Param("id") Long id);
     
-    Page<Post> findByCategoryAndPublishedTrue(Category category, Pageable pageable);
+    // 评论计数在SQL中原子增减
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + 1 WHERE p.id = :id")
+    int incrementCommentCount(@Param("id") Long id);
     
-    @Query("SELECT p FROM Post p WHERE p.published = true AND " +
-           "(LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(p.content) LIKE LOWER(CONCAT('%', :query, '%')))")
-    Page<Post> searchPosts(@Param("query") String query, Pageable pageable);
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount - 1 WHERE p.id = :id AND p.commentCount > 0")
+    int decrementCommentCount(@Param("id") Long id);
     
-    @Query("SELECT p FROM Post p WHERE p.published = true ORDER BY p.createdAt DESC")
-    List<Post> findRecentPosts(Pageable pageable);
+    // 一次删除多条评论（连同回复子树）时按删除条数扣减，不低于0
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = CASE WHEN p.commentCount > :count THEN p.commentCount - :count ELSE 0 END " +
+           "WHERE p.id = :id")
+    int decreaseCommentCount(@Param("id") Long id, @Param("count") int count);
     
-    @Query("SELECT p FROM Post p WHERE p.published = true ORDER BY p.views DESC")
-    List<Post> findPopularPosts(Pageable pageable);
+    // 批量加载一页文章的标签，返回 [postId, tagId, tagName]
+    @Query("SELECT p.id, t.id, t.name FROM Post p JOIN p.tags t WHERE p.id IN :postIds")
+    List<Object[]> findTagsByPostIds(@Param("postIds") Collection<Long> postIds);
 }
\ No newline at end of file
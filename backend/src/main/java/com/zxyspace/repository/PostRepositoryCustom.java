@@ -0,0 +1,13 @@
+package com.zxyspace.repository;
+
+import com.zxyspace.dto.PostCursor;
+import com.zxyspace.dto.PostFilter;
+import com.zxyspace.dto.PostSummaryRow;
+
+import java.util.List;
+
+public interface PostRepositoryCustom {
+    
+    // 游标分页：按 (排序键, id) 定位，不执行count查询
+    List<PostSummaryRow> findSummariesByKeyset(PostFilter filter, PostCursor cursor, int limit);
+}
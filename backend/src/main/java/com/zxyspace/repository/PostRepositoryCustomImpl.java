@@ -0,0 +1,77 @@
+package com.zxyspace.repository;
+
+import com.zxyspace.dto.PostCursor;
+import com.zxyspace.dto.PostFilter;
+import com.zxyspace.dto.PostSummaryRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PostSummaryRow> findSummariesByKeyset(PostFilter filter, PostCursor cursor, int limit) {
+        String sortBy = filter.getSortBy();
+        PostCursor.checkSortable(sortBy);
+        boolean descending = "desc".equalsIgnoreCase(filter.getSortDirection());
+        String direction = descending ? "DESC" : "ASC";
+        
+        List<String> conditions = new ArrayList<>();
+        if (filter.getPublished() != null) {
+            conditions.add("p.published = :published");
+        }
+        if (filter.getAuthorId() != null) {
+            conditions.add("a.id = :authorId");
+        }
+        if (filter.getCategoryId() != null) {
+            conditions.add("c.id = :categoryId");
+        }
+        boolean hasTags = filter.getTagIds() != null && !filter.getTagIds().isEmpty();
+        if (hasTags) {
+            conditions.add(filter.isMatchAllTags()
+                    ? "p.id IN (SELECT pt.id FROM Post pt JOIN pt.tags t WHERE t.id IN :tagIds " +
+                      "GROUP BY pt.id HAVING COUNT(DISTINCT t.id) = :tagCount)"
+                    : "p.id IN (SELECT pt.id FROM Post pt JOIN pt.tags t WHERE t.id IN :tagIds)");
+        }
+        if (cursor != null) {
+            // 行值比较 (sortKey, id) < (?, ?)，由 (sortKey, id) 复合索引支撑
+            conditions.add("(p." + sortBy + ", p.id) " + (descending ? "<" : ">") + " (:sortKey, :lastId)");
+        }
+        
+        StringBuilder jpql = new StringBuilder(PostRepository.SUMMARY_SELECT);
+        if (!conditions.isEmpty()) {
+            jpql.append("WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY p.").append(sortBy).append(' ').append(direction)
+            .append(", p.id ").append(direction);
+        
+        TypedQuery<PostSummaryRow> query = entityManager.createQuery(jpql.toString(), PostSummaryRow.class);
+        if (filter.getPublished() != null) {
+            query.setParameter("published", filter.getPublished());
+        }
+        if (filter.getAuthorId() != null) {
+            query.setParameter("authorId", filter.getAuthorId());
+        }
+        if (filter.getCategoryId() != null) {
+            query.setParameter("categoryId", filter.getCategoryId());
+        }
+        if (hasTags) {
+            query.setParameter("tagIds", filter.getTagIds());
+            if (filter.isMatchAllTags()) {
+                query.setParameter("tagCount", (long) filter.getTagIds().size());
+            }
+        }
+        if (cursor != null) {
+            query.setParameter("sortKey", cursor.getSortKey());
+            query.setParameter("lastId", cursor.getId());
+        }
+        
+        return query.setMaxResults(limit).getResultList();
+    }
+}
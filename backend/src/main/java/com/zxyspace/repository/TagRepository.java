@@ -1,7 +1,9 @@
 package com.zxyspace.repository;
 
+import com.zxyspace.dto.TagCountDto;
 import com.zxyspace.model.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,4 +20,10 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
     Set<Tag> findByIdIn(Set<Long> ids);
     
     boolean existsByName(String name);
+    
+    // 标签云：各标签的已发布文章数，按文章数降序
+    @Query("SELECT new com.zxyspace.dto.TagCountDto(t.id, t.name, COUNT(p)) " +
+           "FROM Tag t LEFT JOIN t.posts p ON p.published = true " +
+           "GROUP BY t.id, t.name ORDER BY COUNT(p) DESC, t.name")
+    List<TagCountDto> findAllWithPostCounts();
 } 
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.zxyspace.repository;
 
+import com.zxyspace.dto.UserSummaryDto;
 import com.zxyspace.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,4 +19,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByUsername(String username);
     
     Boolean existsByEmail(String email);
+    
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+    
+    @Query("SELECT new com.zxyspace.dto.UserSummaryDto(u.id, u.username, u.firstName, u.lastName, u.avatarUrl) " +
+           "FROM User u WHERE u.id = :id")
+    Optional<UserSummaryDto> findSummaryById(@Param("id") Long id);
 }
\ No newline at end of file
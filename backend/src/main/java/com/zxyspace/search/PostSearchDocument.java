@@ -0,0 +1,22 @@
+package com.zxyspace.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+// 建索引用的文章投影：只含可检索的文本字段
+@Getter
+@AllArgsConstructor
+public class PostSearchDocument {
+
+    private Long id;
+    private String title;
+    private String excerpt;
+    // 正文存放在post_bodies表，投影查询后由PostBodyStore批量解码填入
+    @Setter
+    private String content;
+
+    public PostSearchDocument(Long id, String title, String excerpt) {
+        this(id, title, excerpt, null);
+    }
+}
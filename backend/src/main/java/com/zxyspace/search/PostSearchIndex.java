@@ -0,0 +1,308 @@
+package com.zxyspace.search;
+
+import com.zxyspace.body.PostBodyStore;
+import com.zxyspace.event.PostChangedEvent;
+import com.zxyspace.repository.PostRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 已发布文章的内存倒排索引，按BM25打分；倒排表使用原生int数组存储
+@Component
+public class PostSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchIndex.class);
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int EXCERPT_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final PostBodyStore postBodyStore;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 词项 -> 倒排表
+    private Map<String, Postings> postings = new HashMap<>();
+    // 内部文档号 -> 文章ID / 文档长度
+    private long[] docPostIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private int docCount = 0;
+    private BitSet deletedDocs = new BitSet();
+    private int deletedCount = 0;
+    private long totalLength = 0;
+    // 文章ID -> 内部文档号
+    private Map<Long, Integer> docIdsByPostId = new HashMap<>();
+
+    public PostSearchIndex(PostRepository postRepository, PostBodyStore postBodyStore) {
+        this.postRepository = postRepository;
+        this.postBodyStore = postBodyStore;
+    }
+
+    // 启动完成后分批全量构建索引
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            clear();
+            long afterId = 0;
+            List<PostSearchDocument> batch;
+            do {
+                batch = postRepository.findSearchDocuments(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                Map<Long, String> contents = postBodyStore.loadAll(
+                        batch.stream().map(PostSearchDocument::getId).toList());
+                for (PostSearchDocument document : batch) {
+                    document.setContent(contents.getOrDefault(document.getId(), ""));
+                    addDocument(document);
+                    afterId = document.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("搜索索引构建完成：{} 篇文章，{} 个词项，耗时 {} ms",
+                docIdsByPostId.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    // 文章变更提交后增量更新索引
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        PostSearchDocument document = event.getType() == PostChangedEvent.Type.DELETED
+                ? null
+                : postRepository.findSearchDocument(event.getPostId()).orElse(null);
+        if (document != null) {
+            document.setContent(postBodyStore.load(document.getId()));
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(event.getPostId());
+            if (document != null) {
+                addDocument(document);
+            }
+            if (deletedCount > 1024 && deletedCount * 4 > docCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 检索：查询词全部命中（AND），按BM25得分降序，返回指定页的文章ID和命中总数
+    public SearchResult search(String query, int page, int size) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenizeForQuery(query)));
+        if (terms.isEmpty() || size <= 0 || page < 0) {
+            return new SearchResult(new ArrayList<>(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[terms.size()];
+            for (int i = 0; i < terms.size(); i++) {
+                lists[i] = postings.get(terms.get(i));
+                if (lists[i] == null) {
+                    return new SearchResult(new ArrayList<>(), 0);
+                }
+            }
+            // 从最短的倒排表开始求交集
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            int liveDocs = docCount - deletedCount;
+            float avgLength = liveDocs == 0 ? 1f : (float) totalLength / liveDocs;
+            float[] idf = new float[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                idf[i] = (float) Math.log(1 + (liveDocs - lists[i].size + 0.5) / (lists[i].size + 0.5));
+            }
+
+            // 高32位为得分的浮点位（正数时与大小同序），低32位为文档号
+            long[] hits = new long[lists[0].size];
+            int hitCount = 0;
+            int[] cursors = new int[lists.length];
+            Postings shortest = lists[0];
+            candidates:
+            for (int i = 0; i < shortest.size; i++) {
+                int doc = shortest.docs[i];
+                if (deletedDocs.get(doc)) {
+                    continue;
+                }
+                float lengthNorm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+                float score = bm25(idf[0], shortest.freqs[i], lengthNorm);
+                for (int t = 1; t < lists.length; t++) {
+                    int pos = lists[t].advance(cursors[t], doc);
+                    cursors[t] = pos;
+                    if (pos >= lists[t].size || lists[t].docs[pos] != doc) {
+                        continue candidates;
+                    }
+                    score += bm25(idf[t], lists[t].freqs[pos], lengthNorm);
+                }
+                hits[hitCount++] = ((long) Float.floatToIntBits(Math.max(score, 0f)) << 32) | doc;
+            }
+
+            // 偏移量按long计算，page*size溢出时不会变成负数；越过最后一页返回空页，仍带命中总数
+            long from = (long) page * size;
+            if (from >= hitCount) {
+                return new SearchResult(new ArrayList<>(), hitCount);
+            }
+            Arrays.sort(hits, 0, hitCount);
+            int end = (int) Math.max(hitCount - from - size, 0);
+            List<Long> postIds = new ArrayList<>(hitCount - (int) from - end);
+            for (int i = hitCount - 1 - (int) from; i >= end; i--) {
+                postIds.add(docPostIds[(int) hits[i]]);
+            }
+            return new SearchResult(postIds, hitCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static float bm25(float idf, int freq, float lengthNorm) {
+        return idf * freq * (K1 + 1) / (freq + lengthNorm);
+    }
+
+    private void addDocument(PostSearchDocument document) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = collectTerms(document.getTitle(), TITLE_WEIGHT, termFreqs)
+                + collectTerms(document.getExcerpt(), EXCERPT_WEIGHT, termFreqs)
+                + collectTerms(document.getContent(), CONTENT_WEIGHT, termFreqs);
+
+        int doc = docCount++;
+        if (doc == docPostIds.length) {
+            docPostIds = Arrays.copyOf(docPostIds, doc * 2);
+            docLengths = Arrays.copyOf(docLengths, doc * 2);
+        }
+        docPostIds[doc] = document.getId();
+        docLengths[doc] = length;
+        totalLength += length;
+        docIdsByPostId.put(document.getId(), doc);
+
+        for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), key -> new Postings()).add(doc, entry.getValue());
+        }
+    }
+
+    private static int collectTerms(String text, int weight, Map<String, Integer> termFreqs) {
+        List<String> tokens = SearchTokenizer.tokenizeForIndex(text);
+        for (String token : tokens) {
+            termFreqs.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private void removeDocument(Long postId) {
+        Integer doc = docIdsByPostId.remove(postId);
+        if (doc != null) {
+            deletedDocs.set(doc);
+            deletedCount++;
+            totalLength -= docLengths[doc];
+        }
+    }
+
+    // 压缩：剔除已删除文档并重排文档号
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deletedDocs.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = next;
+                docPostIds[next] = docPostIds[doc];
+                docLengths[next] = docLengths[doc];
+                docIdsByPostId.put(docPostIds[next], next);
+                next++;
+            }
+        }
+        Map<String, Postings> compacted = new HashMap<>();
+        for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+            Postings remapped = entry.getValue().remap(remap);
+            if (remapped.size > 0) {
+                compacted.put(entry.getKey(), remapped);
+            }
+        }
+        postings = compacted;
+        docCount = next;
+        deletedDocs = new BitSet();
+        deletedCount = 0;
+    }
+
+    private void clear() {
+        postings = new HashMap<>();
+        docPostIds = new long[1024];
+        docLengths = new int[1024];
+        docCount = 0;
+        deletedDocs = new BitSet();
+        deletedCount = 0;
+        totalLength = 0;
+        docIdsByPostId = new HashMap<>();
+    }
+
+    // 单个词项的倒排表：文档号升序排列，与词频并行存储
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size = 0;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        // 从from开始查找第一个 >= target 的位置（倍增+二分）
+        int advance(int from, int target) {
+            int bound = 1;
+            while (from + bound < size && docs[from + bound] < target) {
+                bound <<= 1;
+            }
+            int low = from + (bound >> 1);
+            int high = Math.min(from + bound, size - 1);
+            if (low > high) {
+                return size;
+            }
+            int pos = Arrays.binarySearch(docs, low, high + 1, target);
+            return pos >= 0 ? pos : -pos - 1;
+        }
+
+        Postings remap(int[] remap) {
+            Postings result = new Postings();
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    result.add(doc, freqs[i]);
+                }
+            }
+            return result;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+
+        private List<Long> postIds;
+        private long totalHits;
+    }
+}
@@ -0,0 +1,81 @@
+package com.zxyspace.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 分词器：中日韩文字按单字+双字切分，拉丁文字按单词切分并转小写
+public final class SearchTokenizer {
+
+    private static final int MAX_WORD_LENGTH = 64;
+
+    private SearchTokenizer() {
+    }
+
+    // 索引分词：CJK连续片段同时产出单字和相邻双字
+    public static List<String> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    // 查询分词：CJK片段长度大于1时只用双字，减少单字带来的噪声
+    public static List<String> tokenizeForQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean indexMode) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder word = new StringBuilder();
+        List<String> cjkRun = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                cjkRun.add(new String(Character.toChars(codePoint)));
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                flushCjk(cjkRun, tokens, indexMode);
+                word.appendCodePoint(codePoint);
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjkRun, tokens, indexMode);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjkRun, tokens, indexMode);
+        return tokens;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0 && word.length() <= MAX_WORD_LENGTH) {
+            tokens.add(word.toString().toLowerCase(Locale.ROOT));
+        }
+        word.setLength(0);
+    }
+
+    private static void flushCjk(List<String> run, List<String> tokens, boolean indexMode) {
+        if (run.isEmpty()) {
+            return;
+        }
+        if (indexMode || run.size() == 1) {
+            tokens.addAll(run);
+        }
+        for (int i = 0; i + 1 < run.size(); i++) {
+            tokens.add(run.get(i) + run.get(i + 1));
+        }
+        run.clear();
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
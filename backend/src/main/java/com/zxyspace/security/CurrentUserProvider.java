@@ -0,0 +1,42 @@
+package com.zxyspace.security;
+
+import com.zxyspace.exception.BusinessException;
+import com.zxyspace.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// 从安全上下文中解析当前登录用户的ID
+@Component
+public class CurrentUserProvider {
+
+    private final UserRepository userRepository;
+
+    @Autowired
+    public CurrentUserProvider(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public Optional<Long> getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        
+        // 主体中已携带用户ID时无需查询数据库
+        if (authentication.getPrincipal() instanceof UserDetailsImpl userDetails && userDetails.getId() != null) {
+            return Optional.of(userDetails.getId());
+        }
+        return userRepository.findIdByUsername(authentication.getName());
+    }
+
+    public Long requireCurrentUserId() {
+        return getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录", "UNAUTHORIZED"));
+    }
+}
@@ -1,62 +1,94 @@
 package com.zxyspace.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final String ROLE_CLAIM = "role";
+    private static final String USER_ID_CLAIM = "uid";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    // 从令牌中获取用户名
-    public String getUsernameFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
-    }
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private long principalCacheMaxSize;
 
-    // 从令牌中获取过期日期
-    public Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
-    }
+    // 签名密钥和解析器只构建一次，解析器是线程安全的
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
 
-    // 从令牌中获取指定声明
-    public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
-        return claimsResolver.apply(claims);
-    }
-    
-    // 解析令牌获取所有声明
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody();
-    }
+    // 令牌哈希 -> 已验证的主体，条目随令牌过期而失效
+    private Cache<String, CachedPrincipal> principalCache;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        principalCache = Caffeine.newBuilder()
+                .maximumSize(principalCacheMaxSize)
+                .expireAfter(new Expiry<String, CachedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+                        long remainingMs = Math.max(value.expiresAtMillis - System.currentTimeMillis(), 0);
+                        return TimeUnit.MILLISECONDS.toNanos(remainingMs);
+                    }
 
-    // 检查令牌是否已过期
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+                    @Override
+                    public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedPrincipal value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-    // 为指定用户生成令牌
+    // 为指定用户生成令牌，角色和用户ID写入声明，验证时无需再查询数据库
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         Map<String, Object> claims = new HashMap<>();
+        userDetails.getAuthorities().stream()
+                .findFirst()
+                .ifPresent(authority -> claims.put(ROLE_CLAIM, UserDetailsImpl.roleOf(authority)));
+        if (userDetails instanceof UserDetailsImpl userDetailsImpl) {
+            claims.put(USER_ID_CLAIM, userDetailsImpl.getId());
+        }
         return doGenerateToken(claims, userDetails.getUsername());
     }
 
@@ -64,27 +96,37 @@ public class JwtTokenProvider {
     private String doGenerateToken(Map<String, Object> claims, String subject) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
-        
+
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(SignatureAlgorithm.HS512, jwtSecret)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    // 验证令牌
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    // 验证令牌并返回主体：命中缓存时不解析；未命中时只解析一次（签名和过期时间一并校验）
+    public UserDetailsImpl authenticate(String token) {
+        String cacheKey = hash(token);
+        CachedPrincipal cached = principalCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached.principal;
+        }
+
+        Claims claims = parseClaims(token);
+        UserDetailsImpl principal = toPrincipal(claims);
+        long expiresAtMillis = claims.getExpiration() != null
+                ? claims.getExpiration().getTime()
+                : System.currentTimeMillis() + jwtExpiration;
+        principalCache.put(cacheKey, new CachedPrincipal(principal, expiresAtMillis));
+        return principal;
     }
-    
-    // 验证令牌是否格式正确
-    public boolean validateTokenFormat(String token) {
+
+    // 解析令牌获取所有声明，解析失败统一转换为认证异常
+    private Claims parseClaims(String token) {
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token);
-            return true;
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (SignatureException ex) {
             throw new JwtAuthenticationException("无效的JWT签名");
         } catch (MalformedJwtException ex) {
@@ -97,4 +139,39 @@ public class JwtTokenProvider {
             throw new JwtAuthenticationException("JWT声明字符串为空");
         }
     }
-} 
\ No newline at end of file
+
+    private static UserDetailsImpl toPrincipal(Claims claims) {
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (role == null) {
+            throw new JwtAuthenticationException("JWT令牌缺少角色声明");
+        }
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return new UserDetailsImpl(
+                userId != null ? userId.longValue() : null,
+                claims.getSubject(),
+                null,
+                null,
+                Collections.singletonList(UserDetailsImpl.authorityOf(role)));
+    }
+
+    // 缓存键使用令牌的SHA-256摘要，避免在内存中长期保存原始令牌
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class CachedPrincipal {
+
+        private final UserDetailsImpl principal;
+        private final long expiresAtMillis;
+
+        private CachedPrincipal(UserDetailsImpl principal, long expiresAtMillis) {
+            this.principal = principal;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -14,6 +14,9 @@ public class UserDetailsImpl implements UserDetails {
 
     private static final long serialVersionUID = 1L;
 
+    // Spring Security的hasRole()按此前缀匹配权限名
+    private static final String ROLE_PREFIX = "ROLE_";
+
     private Long id;
     private String username;
     private String email;
@@ -33,7 +36,7 @@ public class UserDetailsImpl implements UserDetails {
     }
 
     public static UserDetailsImpl build(User user) {
-        GrantedAuthority authority = new SimpleGrantedAuthority(user.getRole().name());
+        GrantedAuthority authority = authorityOf(user.getRole().name());
 
         return new UserDetailsImpl(
                 user.getId(),
@@ -43,6 +46,17 @@ public class UserDetailsImpl implements UserDetails {
                 Collections.singletonList(authority));
     }
 
+    // 角色名 -> 权限：User.Role的枚举名本身已带前缀（ROLE_ADMIN），只在缺少时补上，保证恰好一个前缀
+    public static GrantedAuthority authorityOf(String role) {
+        return new SimpleGrantedAuthority(role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role);
+    }
+
+    // 权限 -> 不带前缀的角色名（ADMIN），与authorityOf互逆，用于写入JWT声明
+    public static String roleOf(GrantedAuthority authority) {
+        String name = authority.getAuthority();
+        return name.startsWith(ROLE_PREFIX) ? name.substring(ROLE_PREFIX.length()) : name;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -2,6 +2,7 @@ package com.zxyspace.service;
 
 import com.zxyspace.dto.CommentCreateRequest;
 import com.zxyspace.dto.CommentDto;
+import com.zxyspace.dto.LikeResponse;
 import com.zxyspace.dto.PageResponse;
 
 import java.util.List;
@@ -14,6 +15,12 @@ public interface CommentService {
     
     PageResponse<CommentDto> getCommentsByPostId(Long postId, int page, int size);
     
+    PageResponse<CommentDto> getCommentsByPostIdAfter(Long postId, String cursor, int size);
+    
+    PageResponse<CommentDto> getThreadsByPostId(Long postId, String cursor, int size, int replies);
+    
+    CommentDto getReplyTree(Long id);
+    
     PageResponse<CommentDto> getCommentsByUserId(Long userId, int page, int size);
     
     CommentDto createComment(CommentCreateRequest commentRequest, Long postId, Long userId);
@@ -22,9 +29,11 @@ public interface CommentService {
     
     void deleteComment(Long id);
     
-    CommentDto likeComment(Long id);
+    LikeResponse getLikeStatus(Long id, Long userId);
+    
+    LikeResponse likeComment(Long id, Long userId);
     
-    CommentDto unlikeComment(Long id);
+    LikeResponse unlikeComment(Long id, Long userId);
     
     int countCommentsByPostId(Long postId);
 } 
\ No newline at end of file
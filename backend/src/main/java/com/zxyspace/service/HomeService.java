@@ -0,0 +1,11 @@
+package com.zxyspace.service;
+
+import com.zxyspace.dto.HomeSnapshotDto;
+
+public interface HomeService {
+    
+    HomeSnapshotDto getHomeSnapshot();
+    
+    // 预先序列化好的快照JSON
+    byte[] getHomeSnapshotJson();
+}
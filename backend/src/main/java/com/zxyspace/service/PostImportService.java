@@ -0,0 +1,11 @@
+package com.zxyspace.service;
+
+import com.zxyspace.dto.PostImportRequest;
+import com.zxyspace.dto.PostImportResultDto;
+
+import java.util.List;
+
+public interface PostImportService {
+    
+    PostImportResultDto importPosts(List<PostImportRequest> requests, Long defaultAuthorId);
+}
@@ -0,0 +1,8 @@
+package com.zxyspace.service;
+
+import com.zxyspace.dto.PostPageDto;
+
+public interface PostPageService {
+    
+    PostPageDto getPostPage(Long id);
+}
@@ -1,6 +1,9 @@
 package com.zxyspace.service;
 
+import com.zxyspace.dto.LikeResponse;
 import com.zxyspace.dto.PageResponse;
+import com.zxyspace.dto.PostBulkDeleteRequest;
+import com.zxyspace.dto.PostBulkDeleteResultDto;
 import com.zxyspace.dto.PostCreateRequest;
 import com.zxyspace.dto.PostDto;
 import com.zxyspace.dto.PostFilter;
@@ -13,6 +16,12 @@ public interface PostService {
     
     PostDto getPostById(Long id);
     
+    // format为markdown时返回原文，为html时返回写入时预渲染的HTML
+    PostDto getPostById(Long id, String format);
+    
+    // 只记录一次浏览，不返回文章内容（条件GET命中304时使用）
+    void recordView(Long id);
+    
     PageResponse<PostSummaryDto> getAllPosts(PostFilter filter);
     
     PageResponse<PostSummaryDto> getPostsByAuthor(Long authorId, PostFilter filter);
@@ -27,15 +36,23 @@ public interface PostService {
     
     List<PostSummaryDto> getPopularPosts(int limit);
     
+    List<PostSummaryDto> getTrendingPosts(String window, int limit);
+    
+    List<PostSummaryDto> getRelatedPosts(Long postId, Long categoryId, int limit);
+    
     PostDto createPost(PostCreateRequest postRequest, Long authorId);
     
     PostDto updatePost(Long id, PostUpdateRequest postRequest);
     
     void deletePost(Long id);
     
+    PostBulkDeleteResultDto deletePosts(PostBulkDeleteRequest request);
+    
     PostDto incrementViews(Long id);
     
-    PostDto likePost(Long id);
+    LikeResponse getLikeStatus(Long id, Long userId);
+    
+    LikeResponse likePost(Long id, Long userId);
     
-    PostDto unlikePost(Long id);
+    LikeResponse unlikePost(Long id, Long userId);
 } 
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.zxyspace.service.impl;
 
 import com.zxyspace.dto.CategoryDto;
+import com.zxyspace.event.TaxonomyChangedEvent;
 import com.zxyspace.exception.ResourceNotFoundException;
 import com.zxyspace.model.Category;
 import com.zxyspace.repository.CategoryRepository;
 import com.zxyspace.service.CategoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,10 +18,12 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -57,6 +61,7 @@ public class CategoryServiceImpl implements CategoryService {
                 .build();
         
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(TaxonomyChangedEvent.Type.CATEGORY, savedCategory.getId()));
         return mapToCategoryDto(savedCategory);
     }
 
@@ -76,6 +81,7 @@ public class CategoryServiceImpl implements CategoryService {
         category.setDescription(categoryDto.getDescription());
         
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(TaxonomyChangedEvent.Type.CATEGORY, id));
         return mapToCategoryDto(updatedCategory);
     }
 
@@ -86,6 +92,7 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
         
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(TaxonomyChangedEvent.Type.CATEGORY, id));
     }
 
     @Override
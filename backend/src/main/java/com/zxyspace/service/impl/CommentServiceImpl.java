@@ -1,26 +1,45 @@
 package com.zxyspace.service.impl;
 
+import com.zxyspace.counter.CommentLikeIndex;
 import com.zxyspace.dto.CommentCreateRequest;
+import com.zxyspace.dto.CommentCursor;
 import com.zxyspace.dto.CommentDto;
+import com.zxyspace.dto.CommentRow;
+import com.zxyspace.dto.LikeResponse;
 import com.zxyspace.dto.PageResponse;
 import com.zxyspace.dto.UserSummaryDto;
+import com.zxyspace.event.CommentChangedEvent;
+import com.zxyspace.event.PostCounterChangedEvent;
+import com.zxyspace.exception.BusinessException;
 import com.zxyspace.exception.ResourceNotFoundException;
 import com.zxyspace.model.Comment;
-import com.zxyspace.model.Post;
+import com.zxyspace.model.CommentLike;
 import com.zxyspace.model.User;
+import com.zxyspace.repository.CommentLikeRepository;
 import com.zxyspace.repository.CommentRepository;
 import com.zxyspace.repository.PostRepository;
 import com.zxyspace.repository.UserRepository;
 import com.zxyspace.service.CommentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,106 +48,186 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final CommentLikeRepository commentLikeRepository;
+    private final CommentLikeIndex commentLikeIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int listMaxSize;
+    private final int pageMaxSize;
+    private final int maxDepth;
 
     @Autowired
     public CommentServiceImpl(CommentRepository commentRepository, 
                              PostRepository postRepository, 
-                             UserRepository userRepository) {
+                             UserRepository userRepository,
+                             CommentLikeRepository commentLikeRepository,
+                             CommentLikeIndex commentLikeIndex,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${comments.list.max-size:500}") int listMaxSize,
+                             @Value("${comments.page.max-size:100}") int pageMaxSize,
+                             @Value("${comments.thread.max-depth:8}") int maxDepth) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
+        this.commentLikeRepository = commentLikeRepository;
+        this.commentLikeIndex = commentLikeIndex;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.listMaxSize = listMaxSize;
+        this.pageMaxSize = pageMaxSize;
+        this.maxDepth = maxDepth;
     }
 
     @Override
     public CommentDto getCommentById(Long id) {
-        Comment comment = commentRepository.findById(id)
+        CommentRow row = commentRepository.findRowById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", id));
-        return mapToCommentDto(comment);
+        return mapRowToCommentDto(row);
     }
 
     @Override
     public List<CommentDto> getCommentsByPostId(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
+        // 不分页列表最多返回listMaxSize条，更多评论需通过分页接口获取
+        List<CommentRow> rows = commentRepository.findOldestRowsByPostId(postId, PageRequest.ofSize(listMaxSize));
+        // 有评论即说明文章存在，只有结果为空时才需要单独确认文章是否存在
+        if (rows.isEmpty() && !postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post", "id", postId);
+        }
         
-        return commentRepository.findByPost(post).stream()
-                .map(this::mapToCommentDto)
+        return rows.stream()
+                .map(this::mapRowToCommentDto)
                 .collect(Collectors.toList());
     }
 
     @Override
     public PageResponse<CommentDto> getCommentsByPostId(Long postId, int page, int size) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
+        // 与游标模式使用相同的排序，id作为同一时间戳内的决胜列
+        Pageable pageable = PageRequest.of(page, boundedPageSize(size),
+                Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
+        Page<CommentRow> rowsPage = commentRepository.findRowsByPostId(postId, pageable);
+        if (rowsPage.getTotalElements() == 0 && !postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post", "id", postId);
+        }
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Comment> commentsPage = commentRepository.findByPost(post, pageable);
+        return toPageResponse(rowsPage);
+    }
+
+    @Override
+    public PageResponse<CommentDto> getCommentsByPostIdAfter(Long postId, String cursor, int size) {
+        int pageSize = boundedPageSize(size);
+        // 多取一行用于判断是否还有下一页，不执行count查询
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        List<CommentRow> rows;
+        if (StringUtils.hasText(cursor)) {
+            CommentCursor after = CommentCursor.decode(cursor);
+            rows = commentRepository.findRowsByPostIdKeysetAfter(postId, after.getCreatedAt(), after.getId(), limit);
+        } else {
+            rows = commentRepository.findRowsByPostIdKeyset(postId, limit);
+            if (rows.isEmpty() && !postRepository.existsById(postId)) {
+                throw new ResourceNotFoundException("Post", "id", postId);
+            }
+        }
         
-        List<CommentDto> content = commentsPage.getContent().stream()
-                .map(this::mapToCommentDto)
-                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = CommentCursor.after(rows.get(rows.size() - 1)).encode();
+        }
         
-        return PageResponse.of(
-                content,
-                commentsPage.getNumber(),
-                commentsPage.getSize(),
-                commentsPage.getTotalElements(),
-                commentsPage.getTotalPages(),
-                commentsPage.isLast()
-        );
+        return PageResponse.ofCursor(rows.stream()
+                .map(this::mapRowToCommentDto)
+                .collect(Collectors.toList()), pageSize, nextCursor);
     }
 
     @Override
-    public PageResponse<CommentDto> getCommentsByUserId(Long userId, int page, int size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+    public PageResponse<CommentDto> getThreadsByPostId(Long postId, String cursor, int size, int replies) {
+        int threads = boundedPageSize(size);
+        CommentCursor after = StringUtils.hasText(cursor) ? CommentCursor.decode(cursor) : null;
+        List<CommentRow> rows = commentRepository.findThreadRows(postId, after,
+                threads, Math.min(Math.max(replies, 0), pageMaxSize));
+        if (rows.isEmpty() && after == null && !postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post", "id", postId);
+        }
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Comment> commentsPage = commentRepository.findByUser(user, pageable);
+        // 行按时间正序返回，楼层按倒序展示
+        List<CommentDto> roots = buildTree(rows, row -> row.getParentId() == null);
+        Collections.reverse(roots);
+        // 满页即返回下一页游标，省去为判断末页而多取一个楼层及其回复；末页可能为空页
+        String nextCursor = null;
+        if (roots.size() == threads) {
+            CommentDto last = roots.get(roots.size() - 1);
+            nextCursor = new CommentCursor(last.getCreatedAt(), last.getId()).encode();
+        }
         
-        List<CommentDto> content = commentsPage.getContent().stream()
-                .map(this::mapToCommentDto)
-                .collect(Collectors.toList());
+        return PageResponse.ofCursor(roots, threads, nextCursor);
+    }
+
+    @Override
+    public CommentDto getReplyTree(Long id) {
+        // 子树过大时只取按时间最早的listMaxSize条
+        List<CommentRow> rows = commentRepository.findSubtreeRows(id, id + Comment.PATH_SEPARATOR,
+                PageRequest.ofSize(listMaxSize));
+        List<CommentDto> roots = buildTree(rows, row -> row.getId().equals(id));
+        if (roots.isEmpty()) {
+            throw new ResourceNotFoundException("Comment", "id", id);
+        }
         
-        return PageResponse.of(
-                content,
-                commentsPage.getNumber(),
-                commentsPage.getSize(),
-                commentsPage.getTotalElements(),
-                commentsPage.getTotalPages(),
-                commentsPage.isLast()
-        );
+        return roots.get(0);
+    }
+
+    @Override
+    public PageResponse<CommentDto> getCommentsByUserId(Long userId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, boundedPageSize(size), Sort.by("createdAt").descending());
+        Page<CommentRow> rowsPage = commentRepository.findRowsByUserId(userId, pageable);
+        if (rowsPage.getTotalElements() == 0 && !userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        
+        return toPageResponse(rowsPage);
     }
 
     @Override
     @Transactional
     public CommentDto createComment(CommentCreateRequest commentRequest, Long postId, Long userId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
+        // 评论数原子加一，同时确认文章存在；文章不存在时抛出异常，整个事务回滚
+        if (postRepository.incrementCommentCount(postId) == 0) {
+            throw new ResourceNotFoundException("Post", "id", postId);
+        }
         
-        User user = userRepository.findById(userId)
+        UserSummaryDto author = userRepository.findSummaryById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
         
+        Comment parent = commentRequest.getParentId() != null ? findParent(commentRequest.getParentId(), postId) : null;
+        // 文章和作者只用引用代理填充外键：不加载实体，也不经过Post.comments集合，插入开销与文章已有评论数无关
         Comment comment = Comment.builder()
                 .content(commentRequest.getContent())
-                .post(post)
-                .user(user)
+                .post(postRepository.getReferenceById(postId))
+                .user(userRepository.getReferenceById(userId))
+                .parentId(parent != null ? parent.getId() : null)
+                .threadId(parent != null ? parent.threadRootId() : null)
+                .path(parent != null ? parent.childPath() : "")
                 .build();
         
-        post.addComment(comment);
         Comment savedComment = commentRepository.save(comment);
+        if (parent != null) {
+            commentRepository.adjustReplyCounts(Comment.ancestorIds(savedComment.getPath()), 1);
+        }
+        eventPublisher.publishEvent(new PostCounterChangedEvent(postId, 0, 0, 1));
+        eventPublisher.publishEvent(new CommentChangedEvent(savedComment.getId(), postId));
         
-        return mapToCommentDto(savedComment);
+        return mapToCommentDto(savedComment, author);
     }
 
     @Override
     @Transactional
     public CommentDto updateComment(Long id, String content) {
-        Comment comment = commentRepository.findById(id)
+        Comment comment = commentRepository.findWithUserById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", id));
         
         comment.setContent(content);
         Comment updatedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new CommentChangedEvent(id, comment.getPost().getId()));
         
         return mapToCommentDto(updatedComment);
     }
@@ -139,53 +238,194 @@ public class CommentServiceImpl implements CommentService {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", id));
         
-        // 从Post中移除评论
-        Post post = comment.getPost();
-        post.removeComment(comment);
+        // 连同整棵回复子树一起删除，并从祖先的回复数中扣除
+        List<Long> replyIds = comment.getReplyCount() > 0
+                ? commentRepository.findIdsByPathPrefix(comment.childPath())
+                : List.of();
+        int removed = 1 + replyIds.size();
+        List<Long> ancestorIds = Comment.ancestorIds(comment.getPath());
+        if (!ancestorIds.isEmpty()) {
+            commentRepository.adjustReplyCounts(ancestorIds, -removed);
+        }
+        
+        // 只取文章代理上的外键，不初始化文章，也不加载Post.comments集合
+        Long postId = comment.getPost().getId();
+        if (removed == 1) {
+            postRepository.decrementCommentCount(postId);
+        } else {
+            postRepository.decreaseCommentCount(postId, removed);
+        }
+        eventPublisher.publishEvent(new PostCounterChangedEvent(postId, 0, 0, -removed));
+        eventPublisher.publishEvent(new CommentChangedEvent(id, postId));
+        
+        commentLikeRepository.deleteByCommentId(id);
+        commentLikeIndex.evictAfterCommit(id);
+        if (!replyIds.isEmpty()) {
+            commentLikeRepository.deleteByCommentIdIn(replyIds);
+            replyIds.forEach(commentLikeIndex::evictAfterCommit);
+            commentRepository.deleteByIdIn(replyIds);
+        }
         
         commentRepository.delete(comment);
     }
 
     @Override
-    @Transactional
-    public CommentDto likeComment(Long id) {
-        Comment comment = commentRepository.findById(id)
+    public LikeResponse getLikeStatus(Long id, Long userId) {
+        int likes = commentRepository.findLikesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", id));
         
-        comment.like();
-        Comment updatedComment = commentRepository.save(comment);
+        boolean liked = userId != null && commentLikeIndex.contains(id, userId);
+        return new LikeResponse(liked, likes);
+    }
+
+    // 与文章点赞相同：并发重复点赞时后插入的一方整体回滚，按已点赞返回当前计数
+    @Override
+    public LikeResponse likeComment(Long id, Long userId) {
+        try {
+            return transactionTemplate.execute(status -> addLike(id, userId));
+        } catch (DataIntegrityViolationException ex) {
+            if (!commentLikeRepository.existsByCommentIdAndUserId(id, userId)) {
+                throw ex;
+            }
+            return new LikeResponse(true, commentRepository.findLikesById(id).orElse(0));
+        }
+    }
+
+    private LikeResponse addLike(Long id, Long userId) {
+        int likes = commentRepository.findLikesById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", id));
         
-        return mapToCommentDto(updatedComment);
+        // 已点赞则直接返回，重复点赞不再计数
+        if (commentLikeIndex.contains(id, userId)) {
+            return new LikeResponse(true, likes);
+        }
+        
+        commentLikeRepository.saveAndFlush(new CommentLike(id, userId));
+        commentRepository.incrementLikes(id);
+        commentLikeIndex.addAfterCommit(id, userId);
+        eventPublisher.publishEvent(new CommentChangedEvent(id, null));
+        
+        return new LikeResponse(true, likes + 1);
     }
 
     @Override
     @Transactional
-    public CommentDto unlikeComment(Long id) {
-        Comment comment = commentRepository.findById(id)
+    public LikeResponse unlikeComment(Long id, Long userId) {
+        int likes = commentRepository.findLikesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", id));
         
-        comment.unlike();
-        Comment updatedComment = commentRepository.save(comment);
+        if (commentLikeIndex.contains(id, userId) && commentLikeRepository.deleteByCommentIdAndUserId(id, userId) > 0) {
+            commentRepository.decrementLikes(id);
+            commentLikeIndex.removeAfterCommit(id, userId);
+            eventPublisher.publishEvent(new CommentChangedEvent(id, null));
+            likes = Math.max(likes - 1, 0);
+        }
         
-        return mapToCommentDto(updatedComment);
+        return new LikeResponse(false, likes);
     }
 
     @Override
     public int countCommentsByPostId(Long postId) {
-        Post post = postRepository.findById(postId)
+        // 直接读取文章上冗余的评论数列
+        return postRepository.findCommentCountById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
+    }
+    
+    // 辅助方法：校验被回复的评论属于同一篇文章且嵌套层数未超限
+    private Comment findParent(Long parentId, Long postId) {
+        Comment parent = commentRepository.findById(parentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", parentId));
+        if (!parent.getPost().getId().equals(postId)) {
+            throw new BusinessException("Parent comment belongs to another post", "INVALID_PARENT");
+        }
+        if (Comment.ancestorIds(parent.getPath()).size() + 1 > maxDepth) {
+            throw new BusinessException("Replies cannot be nested deeper than " + maxDepth + " levels", "REPLY_TOO_DEEP");
+        }
+        return parent;
+    }
+    
+    // 辅助方法：把评论行组装为回复树，两次线性遍历：先建立ID索引，再按行序挂到父节点下；
+    // 父节点不在结果中的回复（超出条数上限被截断的部分）丢弃，客户端可根据replyCount按需展开
+    private List<CommentDto> buildTree(List<CommentRow> rows, Predicate<CommentRow> isRoot) {
+        Map<Long, CommentDto> nodes = new HashMap<>(rows.size() * 2);
+        for (CommentRow row : rows) {
+            CommentDto node = mapRowToCommentDto(row);
+            node.setReplies(new ArrayList<>());
+            nodes.put(row.getId(), node);
+        }
         
-        return commentRepository.countByPost(post);
+        List<CommentDto> roots = new ArrayList<>();
+        for (CommentRow row : rows) {
+            CommentDto node = nodes.get(row.getId());
+            if (isRoot.test(row)) {
+                roots.add(node);
+            } else {
+                CommentDto parent = nodes.get(row.getParentId());
+                if (parent != null) {
+                    parent.getReplies().add(node);
+                }
+            }
+        }
+        return roots;
     }
     
-    // 辅助方法：将Comment实体映射为CommentDto
+    // 辅助方法：限制单页条数，避免一次请求取回整篇文章的评论
+    private int boundedPageSize(int size) {
+        return Math.min(Math.max(size, 1), pageMaxSize);
+    }
+    
+    // 辅助方法：将投影分页结果组装为PageResponse
+    private PageResponse<CommentDto> toPageResponse(Page<CommentRow> rowsPage) {
+        List<CommentDto> content = rowsPage.getContent().stream()
+                .map(this::mapRowToCommentDto)
+                .collect(Collectors.toList());
+        
+        return PageResponse.of(
+                content,
+                rowsPage.getNumber(),
+                rowsPage.getSize(),
+                rowsPage.getTotalElements(),
+                rowsPage.getTotalPages(),
+                rowsPage.isLast()
+        );
+    }
+    
+    // 辅助方法：将评论投影行映射为CommentDto
+    private CommentDto mapRowToCommentDto(CommentRow row) {
+        return CommentDto.builder()
+                .id(row.getId())
+                .content(row.getContent())
+                .postId(row.getPostId())
+                .user(UserSummaryDto.builder()
+                        .id(row.getUserId())
+                        .username(row.getUsername())
+                        .firstName(row.getUserFirstName())
+                        .lastName(row.getUserLastName())
+                        .avatarUrl(row.getUserAvatarUrl())
+                        .build())
+                .likes(row.getLikes())
+                .parentId(row.getParentId())
+                .replyCount(row.getReplyCount())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+    
+    // 辅助方法：将Comment实体映射为CommentDto（创建/修改后返回；post只取外键，不触发加载）
     private CommentDto mapToCommentDto(Comment comment) {
+        return mapToCommentDto(comment, mapToUserSummaryDto(comment.getUser()));
+    }
+    
+    // 作者摘要已单独查出时使用，避免初始化作者代理
+    private CommentDto mapToCommentDto(Comment comment, UserSummaryDto author) {
         return CommentDto.builder()
                 .id(comment.getId())
                 .content(comment.getContent())
                 .postId(comment.getPost().getId())
-                .user(mapToUserSummaryDto(comment.getUser()))
+                .user(author)
                 .likes(comment.getLikes())
+                .parentId(comment.getParentId())
+                .replyCount(comment.getReplyCount())
                 .createdAt(comment.getCreatedAt())
                 .updatedAt(comment.getUpdatedAt())
                 .build();
@@ -0,0 +1,143 @@
+package com.zxyspace.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zxyspace.dto.HomeSnapshotDto;
+import com.zxyspace.event.PostChangedEvent;
+import com.zxyspace.event.PostCounterChangedEvent;
+import com.zxyspace.event.TaxonomyChangedEvent;
+import com.zxyspace.repository.CategoryRepository;
+import com.zxyspace.repository.TagRepository;
+import com.zxyspace.service.HomeService;
+import com.zxyspace.service.PostService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 首页快照：写操作只做标记，由定时任务合并重建；读取只是一次volatile读
+@Service
+public class HomeServiceImpl implements HomeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HomeServiceImpl.class);
+
+    private final PostService postService;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final ObjectMapper objectMapper;
+    private final int recentSize;
+    private final int popularSize;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public HomeServiceImpl(PostService postService,
+                           CategoryRepository categoryRepository,
+                           TagRepository tagRepository,
+                           ObjectMapper objectMapper,
+                           @Value("${posts.home.recent-size:5}") int recentSize,
+                           @Value("${posts.home.popular-size:5}") int popularSize) {
+        this.postService = postService;
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.objectMapper = objectMapper;
+        this.recentSize = recentSize;
+        this.popularSize = popularSize;
+    }
+
+    @Override
+    public HomeSnapshotDto getHomeSnapshot() {
+        return current().dto;
+    }
+
+    @Override
+    public byte[] getHomeSnapshotJson() {
+        return current().json;
+    }
+
+    // 启动完成后立即构建第一份快照
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCounterChanged(PostCounterChangedEvent event) {
+        dirty.set(true);
+    }
+
+    // 每个间隔最多重建一次，期间的多次写操作合并为一次重建
+    @Scheduled(fixedDelayString = "${posts.home.rebuild-interval-ms:2000}")
+    public void rebuildIfDirty() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            // 重建失败时继续提供旧快照，下个间隔重试
+            dirty.set(true);
+            logger.error("首页快照重建失败，继续提供旧快照", ex);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // 启动完成前的请求：同步构建一次
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = rebuild();
+                }
+            }
+        }
+        return current;
+    }
+
+    private synchronized Snapshot rebuild() {
+        HomeSnapshotDto dto = new HomeSnapshotDto(
+                postService.getRecentPosts(recentSize),
+                postService.getPopularPosts(popularSize),
+                categoryRepository.findAllWithPostCounts(),
+                tagRepository.findAllWithPostCounts(),
+                LocalDateTime.now());
+        try {
+            Snapshot rebuilt = new Snapshot(dto, objectMapper.writeValueAsBytes(dto));
+            snapshot = rebuilt;
+            return rebuilt;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("首页快照序列化失败", ex);
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final HomeSnapshotDto dto;
+        private final byte[] json;
+
+        private Snapshot(HomeSnapshotDto dto, byte[] json) {
+            this.dto = dto;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.zxyspace.service.impl;
+
+import com.zxyspace.body.PostBodyStore;
+import com.zxyspace.dto.PostImportErrorDto;
+import com.zxyspace.dto.PostImportRequest;
+import com.zxyspace.dto.PostImportResultDto;
+import com.zxyspace.event.PostChangedEvent;
+import com.zxyspace.event.TaxonomyChangedEvent;
+import com.zxyspace.model.Category;
+import com.zxyspace.model.Post;
+import com.zxyspace.model.PostBody;
+import com.zxyspace.model.Tag;
+import com.zxyspace.model.User;
+import com.zxyspace.repository.CategoryRepository;
+import com.zxyspace.repository.PostBodyRepository;
+import com.zxyspace.repository.PostRepository;
+import com.zxyspace.repository.TagRepository;
+import com.zxyspace.repository.UserRepository;
+import com.zxyspace.service.PostImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 文章批量导入：校验 -> 按名称解析分类/标签（缺失的只创建一次）-> 按批写入，每批一个事务
+@Service
+public class PostImportServiceImpl implements PostImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostImportServiceImpl.class);
+
+    private final PostRepository postRepository;
+    private final PostBodyRepository postBodyRepository;
+    private final PostBodyStore postBodyStore;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public PostImportServiceImpl(PostRepository postRepository,
+                                 PostBodyRepository postBodyRepository,
+                                 PostBodyStore postBodyStore,
+                                 UserRepository userRepository,
+                                 CategoryRepository categoryRepository,
+                                 TagRepository tagRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 Validator validator,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${posts.import.batch-size:50}") int batchSize) {
+        this.postRepository = postRepository;
+        this.postBodyRepository = postBodyRepository;
+        this.postBodyStore = postBodyStore;
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public PostImportResultDto importPosts(List<PostImportRequest> requests, Long defaultAuthorId) {
+        long start = System.nanoTime();
+        List<PostImportErrorDto> errors = new ArrayList<>();
+
+        List<Integer> accepted = validate(requests, errors);
+        Map<Long, User> authors = resolveAuthors(requests, accepted, defaultAuthorId, errors);
+
+        // 分类/标签全部读入内存按名称索引，缺失的名称汇总后一次性创建
+        Map<String, Category> categories = categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Category::getName, Function.identity()));
+        Map<String, Tag> tags = tagRepository.findAll().stream()
+                .collect(Collectors.toMap(Tag::getName, Function.identity()));
+        List<Category> newCategories = new ArrayList<>();
+        List<Tag> newTags = new ArrayList<>();
+        for (int index : accepted) {
+            String categoryName = categoryNameOf(requests.get(index));
+            if (categoryName != null && !categories.containsKey(categoryName)) {
+                Category category = Category.builder().name(categoryName).build();
+                categories.put(categoryName, category);
+                newCategories.add(category);
+            }
+            for (String tagName : tagNamesOf(requests.get(index))) {
+                if (!tags.containsKey(tagName)) {
+                    Tag tag = Tag.builder().name(tagName).build();
+                    tags.put(tagName, tag);
+                    newTags.add(tag);
+                }
+            }
+        }
+        if (!newCategories.isEmpty() || !newTags.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                categoryRepository.saveAll(newCategories);
+                tagRepository.saveAll(newTags);
+                newCategories.forEach(category -> eventPublisher.publishEvent(
+                        new TaxonomyChangedEvent(TaxonomyChangedEvent.Type.CATEGORY, category.getId())));
+                newTags.forEach(tag -> eventPublisher.publishEvent(
+                        new TaxonomyChangedEvent(TaxonomyChangedEvent.Type.TAG, tag.getId())));
+            });
+        }
+
+        // 每批一个事务：主键来自池化序列，提交时Hibernate把文章、正文和文章-标签关联各自合并为JDBC批量插入
+        int imported = 0;
+        long links = 0;
+        for (int from = 0; from < accepted.size(); from += batchSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + batchSize, accepted.size()));
+            try {
+                Integer chunkLinks = transactionTemplate.execute(status ->
+                        writeChunk(requests, chunk, defaultAuthorId, authors, categories, tags));
+                imported += chunk.size();
+                links += chunkLinks != null ? chunkLinks : 0;
+            } catch (RuntimeException ex) {
+                logger.error("文章导入批次写入失败：第 {} 至 {} 条", chunk.get(0), chunk.get(chunk.size() - 1), ex);
+                for (int index : chunk) {
+                    errors.add(new PostImportErrorDto(index, "写入失败：" + ex.getMessage()));
+                }
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        // 每篇文章写入posts与post_bodies各一行
+        long rowsWritten = imported * 2L + links + newCategories.size() + newTags.size();
+        double rowsPerSecond = elapsedNanos > 0 ? rowsWritten * 1_000_000_000.0 / elapsedNanos : 0;
+        errors.sort(Comparator.comparingInt(PostImportErrorDto::getIndex));
+        logger.info("文章导入完成：{} 篇成功，{} 篇失败，写入 {} 行，{} 行/秒",
+                imported, errors.size(), rowsWritten, Math.round(rowsPerSecond));
+
+        return PostImportResultDto.builder()
+                .received(requests.size())
+                .imported(imported)
+                .failed(errors.size())
+                .categoriesCreated(newCategories.size())
+                .tagsCreated(newTags.size())
+                .rowsWritten(rowsWritten)
+                .elapsedMs(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .errors(errors)
+                .build();
+    }
+
+    private int writeChunk(List<PostImportRequest> requests,
+                           List<Integer> chunk,
+                           Long defaultAuthorId,
+                           Map<Long, User> authors,
+                           Map<String, Category> categories,
+                           Map<String, Tag> tags) {
+        List<Post> posts = new ArrayList<>(chunk.size());
+        int links = 0;
+        for (int index : chunk) {
+            PostImportRequest request = requests.get(index);
+            String categoryName = categoryNameOf(request);
+            Set<Tag> postTags = tagNamesOf(request).stream()
+                    .map(tags::get)
+                    .collect(Collectors.toCollection(HashSet::new));
+            links += postTags.size();
+            posts.add(Post.builder()
+                    .title(request.getTitle())
+                    .excerpt(request.getExcerpt())
+                    .coverImage(request.getCoverImage())
+                    .author(authors.get(authorIdOf(request, defaultAuthorId)))
+                    .category(categoryName != null ? categories.get(categoryName) : null)
+                    .tags(postTags)
+                    .published(request.isPublished())
+                    .build());
+        }
+        postRepository.saveAll(posts);
+        // 正文主键即文章ID，保存文章分配ID后再编码写入，同样合并为批量插入
+        List<PostBody> bodies = new ArrayList<>(posts.size());
+        for (int i = 0; i < posts.size(); i++) {
+            bodies.add(postBodyStore.encode(posts.get(i).getId(), requests.get(chunk.get(i)).getContent()));
+        }
+        postBodyRepository.saveAll(bodies);
+        for (Post post : posts) {
+            eventPublisher.publishEvent(new PostChangedEvent(post.getId(), PostChangedEvent.Type.CREATED));
+        }
+        return links;
+    }
+
+    // 逐条做Bean校验，返回通过校验的下标
+    private List<Integer> validate(List<PostImportRequest> requests, List<PostImportErrorDto> errors) {
+        List<Integer> accepted = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            PostImportRequest request = requests.get(i);
+            if (request == null) {
+                errors.add(new PostImportErrorDto(i, "条目为空"));
+                continue;
+            }
+            Set<ConstraintViolation<PostImportRequest>> violations = validator.validate(request);
+            if (violations.isEmpty()) {
+                accepted.add(i);
+            } else {
+                errors.add(new PostImportErrorDto(i, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+            }
+        }
+        return accepted;
+    }
+
+    // 一次查询所有引用到的作者，作者不存在的条目剔除
+    private Map<Long, User> resolveAuthors(List<PostImportRequest> requests,
+                                           List<Integer> accepted,
+                                           Long defaultAuthorId,
+                                           List<PostImportErrorDto> errors) {
+        Set<Long> authorIds = accepted.stream()
+                .map(index -> authorIdOf(requests.get(index), defaultAuthorId))
+                .collect(Collectors.toSet());
+        Map<Long, User> authors = new HashMap<>();
+        for (User user : userRepository.findAllById(authorIds)) {
+            authors.put(user.getId(), user);
+        }
+        accepted.removeIf(index -> {
+            Long authorId = authorIdOf(requests.get(index), defaultAuthorId);
+            if (authors.containsKey(authorId)) {
+                return false;
+            }
+            errors.add(new PostImportErrorDto(index, "作者不存在：" + authorId));
+            return true;
+        });
+        return authors;
+    }
+
+    private static Long authorIdOf(PostImportRequest request, Long defaultAuthorId) {
+        return request.getAuthorId() != null ? request.getAuthorId() : defaultAuthorId;
+    }
+
+    private static String categoryNameOf(PostImportRequest request) {
+        String name = request.getCategoryName();
+        return name == null || name.isBlank() ? null : name.trim();
+    }
+
+    private static Set<String> tagNamesOf(PostImportRequest request) {
+        if (request.getTagNames() == null) {
+            return Set.of();
+        }
+        return request.getTagNames().stream()
+                .map(String::trim)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
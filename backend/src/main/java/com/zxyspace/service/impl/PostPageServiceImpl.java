@@ -0,0 +1,99 @@
+package com.zxyspace.service.impl;
+
+import com.zxyspace.dto.CommentDto;
+import com.zxyspace.dto.PageResponse;
+import com.zxyspace.dto.PostDto;
+import com.zxyspace.dto.PostPageDto;
+import com.zxyspace.dto.PostSummaryDto;
+import com.zxyspace.service.CommentService;
+import com.zxyspace.service.PostPageService;
+import com.zxyspace.service.PostService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 文章页聚合：正文在请求线程加载，评论页、评论数、相关文章在有界线程池中并发获取，各自超时降级
+@Service
+public class PostPageServiceImpl implements PostPageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostPageServiceImpl.class);
+
+    private final PostService postService;
+    private final CommentService commentService;
+    private final TaskExecutor executor;
+    private final long partTimeoutMs;
+    private final int commentPageSize;
+    private final int relatedSize;
+
+    @Autowired
+    public PostPageServiceImpl(PostService postService,
+                               CommentService commentService,
+                               @Qualifier("postPageExecutor") TaskExecutor executor,
+                               @Value("${posts.page.part-timeout-ms:300}") long partTimeoutMs,
+                               @Value("${posts.page.comment-page-size:10}") int commentPageSize,
+                               @Value("${posts.page.related-size:5}") int relatedSize) {
+        this.postService = postService;
+        this.commentService = commentService;
+        this.executor = executor;
+        this.partTimeoutMs = partTimeoutMs;
+        this.commentPageSize = commentPageSize;
+        this.relatedSize = relatedSize;
+    }
+
+    @Override
+    public PostPageDto getPostPage(Long id) {
+        CompletableFuture<PageResponse<CommentDto>> comments =
+                supplyPart(() -> commentService.getCommentsByPostId(id, 0, commentPageSize));
+        CompletableFuture<Integer> commentCount =
+                supplyPart(() -> commentService.countCommentsByPostId(id));
+
+        // 正文是页面主体，不设超时；文章不存在时直接抛出404
+        PostDto post = postService.getPostById(id);
+        Long categoryId = post.getCategory() != null ? post.getCategory().getId() : null;
+        CompletableFuture<List<PostSummaryDto>> relatedPosts =
+                supplyPart(() -> postService.getRelatedPosts(id, categoryId, relatedSize));
+
+        List<String> unavailable = new ArrayList<>();
+        return PostPageDto.builder()
+                .post(post)
+                .comments(await(comments, "comments", unavailable))
+                .commentCount(await(commentCount, "commentCount", unavailable))
+                .relatedPosts(await(relatedPosts, "relatedPosts", unavailable))
+                .unavailable(unavailable)
+                .build();
+    }
+
+    // 提交子请求并设置超时；线程池满载时直接返回失败的future
+    private <T> CompletableFuture<T> supplyPart(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor)
+                    .orTimeout(partTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> part, String name, List<String> unavailable) {
+        try {
+            return part.join();
+        } catch (CompletionException | CancellationException ex) {
+            unavailable.add(name);
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            logger.warn("文章页子请求 {} 降级：{}", name, cause.toString());
+            return null;
+        }
+    }
+}
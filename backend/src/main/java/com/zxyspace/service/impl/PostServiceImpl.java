@@ -1,35 +1,66 @@
 package com.zxyspace.service.impl;
 
+import com.zxyspace.body.PostBodyStore;
+import com.zxyspace.body.PostContent;
+import com.zxyspace.body.PostContentFormat;
+import com.zxyspace.cache.PostDetailCache;
+import com.zxyspace.counter.PostLikeIndex;
+import com.zxyspace.counter.PostViewCounter;
 import com.zxyspace.dto.CategoryDto;
+import com.zxyspace.dto.LikeResponse;
 import com.zxyspace.dto.PageResponse;
+import com.zxyspace.dto.PostBulkDeleteRequest;
+import com.zxyspace.dto.PostBulkDeleteResultDto;
 import com.zxyspace.dto.PostCreateRequest;
+import com.zxyspace.dto.PostCursor;
 import com.zxyspace.dto.PostDto;
 import com.zxyspace.dto.PostFilter;
 import com.zxyspace.dto.PostSummaryDto;
+import com.zxyspace.dto.PostSummaryRow;
 import com.zxyspace.dto.PostUpdateRequest;
 import com.zxyspace.dto.TagDto;
 import com.zxyspace.dto.UserSummaryDto;
+import com.zxyspace.event.PostChangedEvent;
+import com.zxyspace.event.PostCounterChangedEvent;
+import com.zxyspace.exception.BusinessException;
 import com.zxyspace.exception.ResourceNotFoundException;
 import com.zxyspace.model.Category;
 import com.zxyspace.model.Post;
+import com.zxyspace.model.PostLike;
 import com.zxyspace.model.Tag;
 import com.zxyspace.model.User;
+import com.zxyspace.purge.ContentPurger;
 import com.zxyspace.repository.CategoryRepository;
-import com.zxyspace.repository.CommentRepository;
+import com.zxyspace.repository.PostLikeRepository;
 import com.zxyspace.repository.PostRepository;
 import com.zxyspace.repository.TagRepository;
 import com.zxyspace.repository.UserRepository;
+import com.zxyspace.search.PostSearchIndex;
 import com.zxyspace.service.PostService;
+import com.zxyspace.trending.TrendingEngine;
+import com.zxyspace.trending.TrendingWindow;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -37,180 +68,204 @@ import java.util.stream.Collectors;
 public class PostServiceImpl implements PostService {
 
     private final PostRepository postRepository;
+    private final PostBodyStore postBodyStore;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
-    private final CommentRepository commentRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final ContentPurger contentPurger;
+    private final PostSearchIndex postSearchIndex;
+    private final PostViewCounter postViewCounter;
+    private final PostLikeIndex postLikeIndex;
+    private final PostDetailCache postDetailCache;
+    private final TrendingEngine trendingEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageMaxSize;
 
     @Autowired
     public PostServiceImpl(PostRepository postRepository, 
+                          PostBodyStore postBodyStore,
                           UserRepository userRepository,
                           CategoryRepository categoryRepository,
                           TagRepository tagRepository,
-                          CommentRepository commentRepository) {
+                          PostLikeRepository postLikeRepository,
+                          ContentPurger contentPurger,
+                          PostSearchIndex postSearchIndex,
+                          PostViewCounter postViewCounter,
+                          PostLikeIndex postLikeIndex,
+                          PostDetailCache postDetailCache,
+                          TrendingEngine trendingEngine,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${posts.list.max-size:100}") int pageMaxSize) {
         this.postRepository = postRepository;
+        this.postBodyStore = postBodyStore;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
         this.tagRepository = tagRepository;
-        this.commentRepository = commentRepository;
+        this.postLikeRepository = postLikeRepository;
+        this.contentPurger = contentPurger;
+        this.postSearchIndex = postSearchIndex;
+        this.postViewCounter = postViewCounter;
+        this.postLikeIndex = postLikeIndex;
+        this.postDetailCache = postDetailCache;
+        this.trendingEngine = trendingEngine;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageMaxSize = pageMaxSize;
     }
 
     @Override
     public PostDto getPostById(Long id) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
+        return getPostById(id, PostContentFormat.MARKDOWN.getParam());
+    }
+
+    @Override
+    public PostDto getPostById(Long id, String format) {
+        PostContentFormat contentFormat = PostContentFormat.fromParam(format);
+        PostDto post = postDetailCache.get(id, this::loadPostDto);
         
-        // 增加浏览量
-        post.incrementViews();
-        postRepository.save(post);
+        // 浏览量写入内存缓冲，由PostViewCounter定期批量写回
+        postViewCounter.increment(id);
         
-        return mapToPostDto(post);
+        return withPendingViews(post, contentFormat);
     }
 
     @Override
     public PageResponse<PostSummaryDto> getAllPosts(PostFilter filter) {
+        if (filter.isCursorMode()) {
+            return getPostSummariesByCursor(filter);
+        }
+        
         Pageable pageable = getPageable(filter);
         
-        Page<Post> postsPage;
+        Page<PostSummaryRow> rowsPage;
         if (filter.getPublished() != null) {
-            postsPage = postRepository.findByPublishedTrue(pageable);
+            rowsPage = postRepository.findPublishedSummaries(pageable);
         } else {
-            postsPage = postRepository.findAll(pageable);
+            rowsPage = postRepository.findAllSummaries(pageable);
         }
         
-        List<PostSummaryDto> content = postsPage.getContent().stream()
-                .map(this::mapToPostSummaryDto)
-                .collect(Collectors.toList());
-        
-        return PageResponse.of(
-                content,
-                postsPage.getNumber(),
-                postsPage.getSize(),
-                postsPage.getTotalElements(),
-                postsPage.getTotalPages(),
-                postsPage.isLast()
-        );
+        return toPostSummaryPage(rowsPage);
     }
 
     @Override
     public PageResponse<PostSummaryDto> getPostsByAuthor(Long authorId, PostFilter filter) {
-        User author = userRepository.findById(authorId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", authorId));
+        if (!userRepository.existsById(authorId)) {
+            throw new ResourceNotFoundException("User", "id", authorId);
+        }
         
-        Pageable pageable = getPageable(filter);
+        if (filter.isCursorMode()) {
+            filter.setAuthorId(authorId);
+            filter.setPublished(true);
+            return getPostSummariesByCursor(filter);
+        }
         
-        Page<Post> postsPage = postRepository.findByAuthorAndPublishedTrue(author, pageable);
+        Pageable pageable = getPageable(filter);
         
-        List<PostSummaryDto> content = postsPage.getContent().stream()
-                .map(this::mapToPostSummaryDto)
-                .collect(Collectors.toList());
+        Page<PostSummaryRow> rowsPage = postRepository.findPublishedSummariesByAuthorId(authorId, pageable);
         
-        return PageResponse.of(
-                content,
-                postsPage.getNumber(),
-                postsPage.getSize(),
-                postsPage.getTotalElements(),
-                postsPage.getTotalPages(),
-                postsPage.isLast()
-        );
+        return toPostSummaryPage(rowsPage);
     }
 
     @Override
     public PageResponse<PostSummaryDto> getPostsByCategory(Long categoryId, PostFilter filter) {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category", "id", categoryId);
+        }
         
-        Pageable pageable = getPageable(filter);
+        if (filter.isCursorMode()) {
+            filter.setCategoryId(categoryId);
+            filter.setPublished(true);
+            return getPostSummariesByCursor(filter);
+        }
         
-        Page<Post> postsPage = postRepository.findByCategoryAndPublishedTrue(category, pageable);
+        Pageable pageable = getPageable(filter);
         
-        List<PostSummaryDto> content = postsPage.getContent().stream()
-                .map(this::mapToPostSummaryDto)
-                .collect(Collectors.toList());
+        Page<PostSummaryRow> rowsPage = postRepository.findPublishedSummariesByCategoryId(categoryId, pageable);
         
-        return PageResponse.of(
-                content,
-                postsPage.getNumber(),
-                postsPage.getSize(),
-                postsPage.getTotalElements(),
-                postsPage.getTotalPages(),
-                postsPage.isLast()
-        );
+        return toPostSummaryPage(rowsPage);
     }
 
     @Override
     public PageResponse<PostSummaryDto> getPostsByTag(Long tagId, PostFilter filter) {
-        // 由于没有直接的Repository方法，我们需要手动实现此功能
-        Tag tag = tagRepository.findById(tagId)
-                .orElseThrow(() -> new ResourceNotFoundException("Tag", "id", tagId));
+        if (!tagRepository.existsById(tagId)) {
+            throw new ResourceNotFoundException("Tag", "id", tagId);
+        }
         
-        List<Post> allTagPosts = tag.getPosts().stream()
-                .filter(Post::isPublished)
-                .collect(Collectors.toList());
+        // 路径中的标签与额外指定的标签合并去重
+        Set<Long> tagIdSet = new LinkedHashSet<>();
+        tagIdSet.add(tagId);
+        if (filter.getTagIds() != null) {
+            tagIdSet.addAll(filter.getTagIds());
+        }
+        List<Long> tagIds = new ArrayList<>(tagIdSet);
+        filter.setTagIds(tagIds);
         
-        // 手动分页（简化实现）
-        int start = filter.getPage() * filter.getSize();
-        int end = Math.min(start + filter.getSize(), allTagPosts.size());
-        
-        if (start >= allTagPosts.size()) {
-            return PageResponse.of(
-                    List.of(),
-                    filter.getPage(),
-                    filter.getSize(),
-                    allTagPosts.size(),
-                    (int) Math.ceil((double) allTagPosts.size() / filter.getSize()),
-                    true
-            );
+        if (filter.isCursorMode()) {
+            filter.setPublished(true);
+            return getPostSummariesByCursor(filter);
         }
         
-        List<PostSummaryDto> content = allTagPosts.subList(start, end).stream()
-                .map(this::mapToPostSummaryDto)
-                .collect(Collectors.toList());
+        Pageable pageable = getPageable(filter);
         
-        return PageResponse.of(
-                content,
-                filter.getPage(),
-                filter.getSize(),
-                allTagPosts.size(),
-                (int) Math.ceil((double) allTagPosts.size() / filter.getSize()),
-                end >= allTagPosts.size()
-        );
+        Page<PostSummaryRow> rowsPage = filter.isMatchAllTags()
+                ? postRepository.findPublishedSummariesByAllTags(tagIds, tagIds.size(), pageable)
+                : postRepository.findPublishedSummariesByAnyTag(tagIds, pageable);
+        
+        return toPostSummaryPage(rowsPage);
     }
 
     @Override
     public PageResponse<PostSummaryDto> searchPosts(String keyword, PostFilter filter) {
-        Pageable pageable = getPageable(filter);
-        
-        Page<Post> postsPage = postRepository.searchPosts(keyword, pageable);
-        
-        List<PostSummaryDto> content = postsPage.getContent().stream()
-                .map(this::mapToPostSummaryDto)
-                .collect(Collectors.toList());
+        // 通过内存倒排索引检索，结果按相关度排序
+        if (filter.getPage() < 0) {
+            throw new BusinessException("Page index must not be negative", "INVALID_PAGE");
+        }
+        int size = boundedPageSize(filter);
+        PostSearchIndex.SearchResult result = postSearchIndex.search(keyword, filter.getPage(), size);
+        List<PostSummaryRow> rows = findPublishedSummariesInOrder(result.getPostIds());
         
+        long total = result.getTotalHits();
+        int totalPages = (int) Math.ceil((double) total / size);
         return PageResponse.of(
-                content,
-                postsPage.getNumber(),
-                postsPage.getSize(),
-                postsPage.getTotalElements(),
-                postsPage.getTotalPages(),
-                postsPage.isLast()
+                mapRowsToPostSummaryDtos(rows),
+                filter.getPage(),
+                size,
+                total,
+                totalPages,
+                filter.getPage() + 1 >= totalPages
         );
     }
 
     @Override
     public List<PostSummaryDto> getRecentPosts(int limit) {
         Pageable pageable = PageRequest.of(0, limit, Sort.by("createdAt").descending());
-        return postRepository.findRecentPosts(pageable).stream()
-                .map(this::mapToPostSummaryDto)
-                .collect(Collectors.toList());
+        return mapRowsToPostSummaryDtos(postRepository.findRecentSummaries(pageable));
     }
 
     @Override
     public List<PostSummaryDto> getPopularPosts(int limit) {
         Pageable pageable = PageRequest.of(0, limit);
-        return postRepository.findPopularPosts(pageable).stream()
-                .map(this::mapToPostSummaryDto)
-                .collect(Collectors.toList());
+        return mapRowsToPostSummaryDtos(postRepository.findPopularSummaries(pageable));
+    }
+
+    @Override
+    public List<PostSummaryDto> getTrendingPosts(String window, int limit) {
+        // 排名来自内存中的热门榜，只按主键加载这几篇文章的摘要
+        List<Long> postIds = trendingEngine.topPostIds(TrendingWindow.fromParam(window), limit);
+        return mapRowsToPostSummaryDtos(findPublishedSummariesInOrder(postIds));
+    }
+
+    @Override
+    public List<PostSummaryDto> getRelatedPosts(Long postId, Long categoryId, int limit) {
+        // 有分类时取同分类文章，否则退化为最新文章
+        Pageable pageable = PageRequest.of(0, limit);
+        List<PostSummaryRow> rows = categoryId != null
+                ? postRepository.findRelatedSummaries(categoryId, postId, pageable)
+                : postRepository.findRecentSummariesExcluding(postId, pageable);
+        return mapRowsToPostSummaryDtos(rows);
     }
 
     @Override
@@ -233,7 +288,6 @@ public class PostServiceImpl implements PostService {
         Post post = Post.builder()
                 .title(postRequest.getTitle())
                 .excerpt(postRequest.getExcerpt())
-                .content(postRequest.getContent())
                 .coverImage(postRequest.getCoverImage())
                 .author(author)
                 .category(category)
@@ -246,13 +300,16 @@ public class PostServiceImpl implements PostService {
         }
         
         Post savedPost = postRepository.save(post);
-        return mapToPostDto(savedPost);
+        // 正文在写入时渲染一次HTML并提取目录、字数，读取时不再渲染
+        PostContent content = postBodyStore.save(savedPost.getId(), postRequest.getContent(), true);
+        eventPublisher.publishEvent(new PostChangedEvent(savedPost.getId(), PostChangedEvent.Type.CREATED));
+        return withFormat(mapToPostDto(savedPost, content), PostContentFormat.MARKDOWN);
     }
 
     @Override
     @Transactional
     public PostDto updatePost(Long id, PostUpdateRequest postRequest) {
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findDetailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
         
         // 只更新非null字段
@@ -264,8 +321,13 @@ public class PostServiceImpl implements PostService {
             post.setExcerpt(postRequest.getExcerpt());
         }
         
+        PostContent content;
         if (postRequest.getContent() != null) {
-            post.setContent(postRequest.getContent());
+            content = postBodyStore.save(id, postRequest.getContent(), false);
+            // 正文不在posts表中，只改正文时主表不会变脏，手动刷新更新时间
+            post.setUpdatedAt(LocalDateTime.now());
+        } else {
+            content = postBodyStore.loadContent(id);
         }
         
         if (postRequest.getCoverImage() != null) {
@@ -298,61 +360,145 @@ public class PostServiceImpl implements PostService {
         }
         
         Post updatedPost = postRepository.save(post);
-        return mapToPostDto(updatedPost);
+        eventPublisher.publishEvent(new PostChangedEvent(updatedPost.getId(), PostChangedEvent.Type.UPDATED));
+        return withFormat(mapToPostDto(updatedPost, content), PostContentFormat.MARKDOWN);
     }
 
     @Override
     @Transactional
     public void deletePost(Long id) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
+        if (!postRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Post", "id", id);
+        }
         
-        postRepository.delete(post);
+        // 评论、点赞、标签关联和正文按依赖顺序集合式删除，不加载评论集合
+        contentPurger.purgePosts(List.of(id));
     }
 
     @Override
     @Transactional
+    public PostBulkDeleteResultDto deletePosts(PostBulkDeleteRequest request) {
+        if (request.hasIds() == request.hasFilter()) {
+            throw new BusinessException("Specify either a list of post ids or at least one filter, not both", "INVALID_DELETE_REQUEST");
+        }
+        
+        long start = System.currentTimeMillis();
+        ContentPurger.PurgeResult result = request.hasIds()
+                ? contentPurger.purgePosts(request.getIds().stream().distinct().toList())
+                : contentPurger.purgePostsMatching(request);
+        
+        return PostBulkDeleteResultDto.builder()
+                .postsDeleted(result.getPosts())
+                .commentsDeleted(result.getComments())
+                .elapsedMs(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    @Override
+    public void recordView(Long id) {
+        postViewCounter.increment(id);
+    }
+
+    @Override
     public PostDto incrementViews(Long id) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
+        PostDto post = postDetailCache.get(id, this::loadPostDto);
         
-        post.incrementViews();
-        Post updatedPost = postRepository.save(post);
+        postViewCounter.increment(id);
         
-        return mapToPostDto(updatedPost);
+        return withPendingViews(post, PostContentFormat.MARKDOWN);
     }
 
     @Override
-    @Transactional
-    public PostDto likePost(Long id) {
-        Post post = postRepository.findById(id)
+    public LikeResponse getLikeStatus(Long id, Long userId) {
+        int likes = postRepository.findLikesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
         
-        post.like();
-        Post updatedPost = postRepository.save(post);
+        boolean liked = userId != null && postLikeIndex.contains(id, userId);
+        return new LikeResponse(liked, likes);
+    }
+
+    // 并发的重复点赞（如双击）都能通过内存索引的检查，后插入的一方违反唯一约束：
+    // 其事务连同计数整体回滚，按已点赞返回当前计数；点赞记录不存在说明是其他约束失败，照常抛出
+    @Override
+    public LikeResponse likePost(Long id, Long userId) {
+        try {
+            return transactionTemplate.execute(status -> addLike(id, userId));
+        } catch (DataIntegrityViolationException ex) {
+            if (!postLikeRepository.existsByPostIdAndUserId(id, userId)) {
+                throw ex;
+            }
+            return new LikeResponse(true, postRepository.findLikesById(id).orElse(0));
+        }
+    }
+
+    private LikeResponse addLike(Long id, Long userId) {
+        int likes = postRepository.findLikesById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
+        
+        // 已点赞则直接返回，重复点赞不再计数
+        if (postLikeIndex.contains(id, userId)) {
+            return new LikeResponse(true, likes);
+        }
+        
+        // 立即写入，唯一约束冲突在计数之前抛出
+        postLikeRepository.saveAndFlush(new PostLike(id, userId));
+        postRepository.incrementLikes(id);
+        postLikeIndex.addAfterCommit(id, userId);
+        eventPublisher.publishEvent(new PostCounterChangedEvent(id, 0, 1, 0));
         
-        return mapToPostDto(updatedPost);
+        return new LikeResponse(true, likes + 1);
     }
 
     @Override
     @Transactional
-    public PostDto unlikePost(Long id) {
-        Post post = postRepository.findById(id)
+    public LikeResponse unlikePost(Long id, Long userId) {
+        int likes = postRepository.findLikesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
         
-        post.unlike();
-        Post updatedPost = postRepository.save(post);
+        if (postLikeIndex.contains(id, userId) && postLikeRepository.deleteByPostIdAndUserId(id, userId) > 0) {
+            postRepository.decrementLikes(id);
+            postLikeIndex.removeAfterCommit(id, userId);
+            eventPublisher.publishEvent(new PostCounterChangedEvent(id, 0, -1, 0));
+            likes = Math.max(likes - 1, 0);
+        }
         
-        return mapToPostDto(updatedPost);
+        return new LikeResponse(false, likes);
     }
     
-    // 辅助方法：将Post实体映射为PostDto
-    private PostDto mapToPostDto(Post post) {
+    // 辅助方法：缓存未命中时从数据库加载文章详情
+    private PostDto loadPostDto(Long id) {
+        Post post = postRepository.findDetailById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
+        return mapToPostDto(post, postBodyStore.loadContent(id));
+    }
+    
+    // 辅助方法：在缓存的详情副本上叠加尚未写回的浏览量并只保留所请求格式的正文，不修改缓存条目本身
+    private PostDto withPendingViews(PostDto post, PostContentFormat format) {
+        return selectFormat(post.toBuilder(), format)
+                .views(post.getViews() + (int) postViewCounter.getPending(post.getId()))
+                .build();
+    }
+    
+    private static PostDto withFormat(PostDto post, PostContentFormat format) {
+        return selectFormat(post.toBuilder(), format).build();
+    }
+    
+    // 辅助方法：详情缓存中同时保存两种正文，返回前去掉未请求的一种
+    private static PostDto.PostDtoBuilder selectFormat(PostDto.PostDtoBuilder builder, PostContentFormat format) {
+        return format == PostContentFormat.HTML ? builder.content(null) : builder.contentHtml(null);
+    }
+    
+    // 辅助方法：将Post实体与正文映射为PostDto
+    private PostDto mapToPostDto(Post post, PostContent content) {
         return PostDto.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .excerpt(post.getExcerpt())
-                .content(post.getContent())
+                .content(content.getMarkdown())
+                .contentHtml(content.getHtml())
+                .toc(content.getToc())
+                .wordCount(content.getWordCount())
+                .readingMinutes(content.getReadingMinutes())
                 .coverImage(post.getCoverImage())
                 .author(mapToUserSummaryDto(post.getAuthor()))
                 .category(post.getCategory() != null ? mapToCategoryDto(post.getCategory()) : null)
@@ -365,22 +511,107 @@ public class PostServiceImpl implements PostService {
                 .build();
     }
     
-    // 辅助方法：将Post实体映射为PostSummaryDto
-    private PostSummaryDto mapToPostSummaryDto(Post post) {
+    // 辅助方法：游标分页，多取一行判断是否还有下一页，不执行count查询
+    private PageResponse<PostSummaryDto> getPostSummariesByCursor(PostFilter filter) {
+        PostCursor.checkSortable(filter.getSortBy());
+        boolean descending = "desc".equalsIgnoreCase(filter.getSortDirection());
+        PostCursor cursor = StringUtils.hasText(filter.getCursor())
+                ? PostCursor.decode(filter.getCursor(), filter.getSortBy(), descending)
+                : null;
+        
+        // 多取一条判断是否还有下一页；size先限定在[1, pageMaxSize]，否则size=0时没有可编码的末行
+        int size = boundedPageSize(filter);
+        List<PostSummaryRow> rows = postRepository.findSummariesByKeyset(filter, cursor, size + 1);
+        
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = PostCursor.after(rows.get(rows.size() - 1), filter.getSortBy(), descending).encode();
+        }
+        
+        return PageResponse.ofCursor(mapRowsToPostSummaryDtos(rows), size, nextCursor);
+    }
+    
+    // 辅助方法：将投影分页结果组装为PageResponse，整页评论数与标签各一次查询取回
+    private PageResponse<PostSummaryDto> toPostSummaryPage(Page<PostSummaryRow> rowsPage) {
+        return PageResponse.of(
+                mapRowsToPostSummaryDtos(rowsPage.getContent()),
+                rowsPage.getNumber(),
+                rowsPage.getSize(),
+                rowsPage.getTotalElements(),
+                rowsPage.getTotalPages(),
+                rowsPage.isLast()
+        );
+    }
+    
+    // 辅助方法：批量映射投影行为PostSummaryDto，标签按整页批量加载
+    private List<PostSummaryDto> mapRowsToPostSummaryDtos(List<PostSummaryRow> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<Long> postIds = rows.stream()
+                .map(PostSummaryRow::getId)
+                .collect(Collectors.toList());
+        Map<Long, Set<TagDto>> tagsByPost = getTagsByPost(postIds);
+        
+        return rows.stream()
+                .map(row -> mapToPostSummaryDto(row,
+                        tagsByPost.getOrDefault(row.getId(), new HashSet<>())))
+                .collect(Collectors.toList());
+    }
+    
+    // 辅助方法：按给定ID顺序加载已发布文章的摘要，跳过不存在或未发布的文章
+    private List<PostSummaryRow> findPublishedSummariesInOrder(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, PostSummaryRow> rowsById = new HashMap<>();
+        for (PostSummaryRow row : postRepository.findPublishedSummariesByIds(postIds)) {
+            rowsById.put(row.getId(), row);
+        }
+        return postIds.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    // 辅助方法：按文章ID批量加载标签
+    private Map<Long, Set<TagDto>> getTagsByPost(List<Long> postIds) {
+        Map<Long, Set<TagDto>> tagsByPost = new HashMap<>();
+        for (Object[] row : postRepository.findTagsByPostIds(postIds)) {
+            tagsByPost.computeIfAbsent((Long) row[0], key -> new HashSet<>())
+                    .add(TagDto.builder().id((Long) row[1]).name((String) row[2]).build());
+        }
+        return tagsByPost;
+    }
+    
+    // 辅助方法：将投影行映射为PostSummaryDto
+    private PostSummaryDto mapToPostSummaryDto(PostSummaryRow row, Set<TagDto> tags) {
         return PostSummaryDto.builder()
-                .id(post.getId())
-                .title(post.getTitle())
-                .excerpt(post.getExcerpt())
-                .coverImage(post.getCoverImage())
-                .author(mapToUserSummaryDto(post.getAuthor()))
-                .category(post.getCategory() != null ? mapToCategoryDto(post.getCategory()) : null)
-                .tags(post.getTags().stream().map(this::mapToTagDto).collect(Collectors.toSet()))
-                .commentCount(commentRepository.countByPost(post))
-                .views(post.getViews())
-                .likes(post.getLikes())
-                .createdAt(post.getCreatedAt())
-                .updatedAt(post.getUpdatedAt())
-                .published(post.isPublished())
+                .id(row.getId())
+                .title(row.getTitle())
+                .excerpt(row.getExcerpt())
+                .coverImage(row.getCoverImage())
+                .author(UserSummaryDto.builder()
+                        .id(row.getAuthorId())
+                        .username(row.getAuthorUsername())
+                        .firstName(row.getAuthorFirstName())
+                        .lastName(row.getAuthorLastName())
+                        .avatarUrl(row.getAuthorAvatarUrl())
+                        .build())
+                .category(row.getCategoryId() != null ? CategoryDto.builder()
+                        .id(row.getCategoryId())
+                        .name(row.getCategoryName())
+                        .description(row.getCategoryDescription())
+                        .build() : null)
+                .tags(tags)
+                .commentCount(row.getCommentCount())
+                .views(row.getViews())
+                .likes(row.getLikes())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .published(row.isPublished())
                 .build();
     }
     
@@ -420,6 +651,11 @@ public class PostServiceImpl implements PostService {
                         : Sort.Direction.ASC, 
                 filter.getSortBy());
         
-        return PageRequest.of(filter.getPage(), filter.getSize(), sort);
+        return PageRequest.of(Math.max(filter.getPage(), 0), boundedPageSize(filter), sort);
+    }
+
+    // 单页条数限定在[1, pageMaxSize]，与评论分页接口一致
+    private int boundedPageSize(PostFilter filter) {
+        return Math.min(Math.max(filter.getSize(), 1), pageMaxSize);
     }
 } 
\ No newline at end of file
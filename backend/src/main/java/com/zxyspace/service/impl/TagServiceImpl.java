@@ -1,11 +1,13 @@
 package com.zxyspace.service.impl;
 
 import com.zxyspace.dto.TagDto;
+import com.zxyspace.event.TaxonomyChangedEvent;
 import com.zxyspace.exception.ResourceNotFoundException;
 import com.zxyspace.model.Tag;
 import com.zxyspace.repository.TagRepository;
 import com.zxyspace.service.TagService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,10 +19,12 @@ import java.util.stream.Collectors;
 public class TagServiceImpl implements TagService {
 
     private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public TagServiceImpl(TagRepository tagRepository) {
+    public TagServiceImpl(TagRepository tagRepository, ApplicationEventPublisher eventPublisher) {
         this.tagRepository = tagRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -71,6 +75,7 @@ public class TagServiceImpl implements TagService {
                 .build();
         
         Tag savedTag = tagRepository.save(tag);
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(TaxonomyChangedEvent.Type.TAG, savedTag.getId()));
         return mapToTagDto(savedTag);
     }
 
@@ -89,6 +94,7 @@ public class TagServiceImpl implements TagService {
         tag.setName(tagDto.getName());
         
         Tag updatedTag = tagRepository.save(tag);
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(TaxonomyChangedEvent.Type.TAG, id));
         return mapToTagDto(updatedTag);
     }
 
@@ -99,6 +105,7 @@ public class TagServiceImpl implements TagService {
                 .orElseThrow(() -> new ResourceNotFoundException("Tag", "id", id));
         
         tagRepository.delete(tag);
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(TaxonomyChangedEvent.Type.TAG, id));
     }
 
     @Override
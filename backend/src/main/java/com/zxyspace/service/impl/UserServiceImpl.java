@@ -3,10 +3,12 @@ package com.zxyspace.service.impl;
 import com.zxyspace.dto.UserDto;
 import com.zxyspace.exception.ResourceNotFoundException;
 import com.zxyspace.model.User;
+import com.zxyspace.purge.ContentPurger;
 import com.zxyspace.repository.UserRepository;
 import com.zxyspace.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,10 +17,12 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final ContentPurger contentPurger;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, ContentPurger contentPurger) {
         this.userRepository = userRepository;
+        this.contentPurger = contentPurger;
     }
 
     @Override
@@ -71,10 +75,14 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
-        userRepository.delete(user);
+        if (!userRepository.existsById(id)) {
+            throw new ResourceNotFoundException("User", "id", id);
+        }
+        
+        // 用户的文章、评论和点赞在同一事务中按依赖顺序分块删除
+        contentPurger.purgeUser(id);
     }
 
     @Override
@@ -0,0 +1,298 @@
+package com.zxyspace.trending;
+
+import com.zxyspace.event.PostChangedEvent;
+import com.zxyspace.event.PostCounterChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+// 热门榜引擎：按小时分桶累计浏览/点赞/评论权重，按窗口做指数衰减并增量维护有序排名
+@Component
+public class TrendingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingEngine.class);
+
+    private static final double VIEW_WEIGHT = 1;
+    private static final double LIKE_WEIGHT = 5;
+    private static final double COMMENT_WEIGHT = 10;
+
+    // 环形桶覆盖最长窗口
+    private static final int RING_HOURS = maxWindowHours();
+
+    private static final String DELETE_HOUR_SQL = "DELETE FROM post_trending_buckets WHERE bucket_hour = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO post_trending_buckets (post_id, bucket_hour, score, created_at) VALUES (?, ?, ?, ?)";
+    private static final String PRUNE_SQL = "DELETE FROM post_trending_buckets WHERE bucket_hour <= ?";
+    private static final String LOAD_SQL =
+            "SELECT post_id, bucket_hour, score FROM post_trending_buckets WHERE bucket_hour > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 文章ID -> 近期活动；所有状态由this加锁保护
+    private final Map<Long, PostActivity> activities = new HashMap<>();
+    private final Map<TrendingWindow, Ranking> rankings = new EnumMap<>(TrendingWindow.class);
+    private final Set<Long> dirtyHours = new HashSet<>();
+    private long currentHour;
+
+    public TrendingEngine(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (TrendingWindow window : TrendingWindow.values()) {
+            rankings.put(window, new Ranking());
+        }
+        this.currentHour = nowHour();
+    }
+
+    // 启动时从检查点恢复最近的小时桶
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void restore() {
+        activities.clear();
+        currentHour = nowHour();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            long hour = rs.getLong("bucket_hour");
+            if (hour <= currentHour) {
+                activity(rs.getLong("post_id")).buckets[slot(hour)] += rs.getDouble("score");
+            }
+        }, currentHour - RING_HOURS);
+        rescoreAll();
+        logger.info("热门榜已从检查点恢复：{} 篇活跃文章", activities.size());
+    }
+
+    // 计数已持久化后记入当前小时桶；取消点赞、删除评论不回退热度
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCounterChanged(PostCounterChangedEvent event) {
+        double weight = Math.max(event.getViewsDelta(), 0) * VIEW_WEIGHT
+                + Math.max(event.getLikesDelta(), 0) * LIKE_WEIGHT
+                + Math.max(event.getCommentsDelta(), 0) * COMMENT_WEIGHT;
+        if (weight > 0) {
+            record(event.getPostId(), weight);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.DELETED && activities.remove(event.getPostId()) != null) {
+            for (Ranking ranking : rankings.values()) {
+                ranking.remove(event.getPostId());
+            }
+        }
+    }
+
+    public synchronized void record(Long postId, double weight) {
+        advanceTo(nowHour());
+        PostActivity activity = activity(postId);
+        activity.buckets[slot(currentHour)] += weight;
+        dirtyHours.add(currentHour);
+        // 当前小时桶的衰减系数为1，各窗口得分直接累加
+        for (TrendingWindow window : TrendingWindow.values()) {
+            activity.scores[window.ordinal()] += weight;
+            rankings.get(window).update(postId, activity.scores[window.ordinal()]);
+        }
+    }
+
+    // 读取排名前limit的文章ID，复杂度O(limit)
+    public synchronized List<Long> topPostIds(TrendingWindow window, int limit) {
+        advanceTo(nowHour());
+        return rankings.get(window).top(limit);
+    }
+
+    // 整点滚动：过期最老的桶并按新的衰减系数重算得分
+    @Scheduled(cron = "0 0 * * * *")
+    public synchronized void rollover() {
+        advanceTo(nowHour());
+    }
+
+    // 定期把改动过的小时桶写回数据库，并清理超出最长窗口的桶
+    @Scheduled(fixedDelayString = "${posts.trending.checkpoint-interval-ms:60000}")
+    @PreDestroy
+    public void checkpoint() {
+        List<Long> hours;
+        List<Object[]> rows = new ArrayList<>();
+        long pruneBefore;
+        synchronized (this) {
+            if (dirtyHours.isEmpty()) {
+                return;
+            }
+            hours = new ArrayList<>(dirtyHours);
+            dirtyHours.clear();
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (Map.Entry<Long, PostActivity> entry : activities.entrySet()) {
+                for (Long hour : hours) {
+                    double score = entry.getValue().buckets[slot(hour)];
+                    if (hour > currentHour - RING_HOURS && score > 0) {
+                        rows.add(new Object[]{entry.getKey(), hour, score, now});
+                    }
+                }
+            }
+            pruneBefore = currentHour - RING_HOURS;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(DELETE_HOUR_SQL, hours.stream()
+                        .map(hour -> new Object[]{hour})
+                        .toList());
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                jdbcTemplate.update(PRUNE_SQL, pruneBefore);
+            });
+        } catch (RuntimeException ex) {
+            // 写回失败时保留脏标记，下次检查点重试
+            synchronized (this) {
+                dirtyHours.addAll(hours);
+            }
+            logger.error("热门榜检查点写入失败，{} 个小时桶保留脏标记等待重试", hours.size(), ex);
+        }
+    }
+
+    private void advanceTo(long hour) {
+        if (hour <= currentHour) {
+            return;
+        }
+        // 清空滚出最长窗口的槽位；间隔超过一个环时全部清空
+        long steps = Math.min(hour - currentHour, RING_HOURS);
+        for (long i = 1; i <= steps; i++) {
+            int expiredSlot = slot(currentHour + i);
+            for (PostActivity activity : activities.values()) {
+                activity.buckets[expiredSlot] = 0;
+            }
+        }
+        currentHour = hour;
+        rescoreAll();
+    }
+
+    private void rescoreAll() {
+        for (Ranking ranking : rankings.values()) {
+            ranking.clear();
+        }
+        Iterator<Map.Entry<Long, PostActivity>> iterator = activities.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, PostActivity> entry = iterator.next();
+            PostActivity activity = entry.getValue();
+            if (activity.isEmpty()) {
+                iterator.remove();
+                continue;
+            }
+            for (TrendingWindow window : TrendingWindow.values()) {
+                double score = 0;
+                for (int age = 0; age < window.getHours(); age++) {
+                    score += activity.buckets[slot(currentHour - age)] * window.decayFactor(age);
+                }
+                activity.scores[window.ordinal()] = score;
+                if (score > 0) {
+                    rankings.get(window).update(entry.getKey(), score);
+                }
+            }
+        }
+    }
+
+    private PostActivity activity(Long postId) {
+        return activities.computeIfAbsent(postId, id -> new PostActivity());
+    }
+
+    private static int slot(long hour) {
+        return (int) Math.floorMod(hour, (long) RING_HOURS);
+    }
+
+    private static long nowHour() {
+        return TimeUnit.MILLISECONDS.toHours(System.currentTimeMillis());
+    }
+
+    private static int maxWindowHours() {
+        int max = 0;
+        for (TrendingWindow window : TrendingWindow.values()) {
+            max = Math.max(max, window.getHours());
+        }
+        return max;
+    }
+
+    // 单篇文章的小时桶环和各窗口的当前得分
+    private static final class PostActivity {
+
+        private final double[] buckets = new double[RING_HOURS];
+        private final double[] scores = new double[TrendingWindow.values().length];
+
+        boolean isEmpty() {
+            for (double bucket : buckets) {
+                if (bucket > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // 有序排名加索引：按得分降序（同分按ID降序），更新O(log n)，取前K个O(K)
+    private static final class Ranking {
+
+        private static final Comparator<Ranked> ORDER = Comparator
+                .comparingDouble((Ranked ranked) -> ranked.score).reversed()
+                .thenComparing(ranked -> ranked.postId, Comparator.reverseOrder());
+
+        private final TreeSet<Ranked> ordered = new TreeSet<>(ORDER);
+        private final Map<Long, Ranked> index = new HashMap<>();
+
+        void update(Long postId, double score) {
+            remove(postId);
+            Ranked ranked = new Ranked(postId, score);
+            ordered.add(ranked);
+            index.put(postId, ranked);
+        }
+
+        void remove(Long postId) {
+            Ranked previous = index.remove(postId);
+            if (previous != null) {
+                ordered.remove(previous);
+            }
+        }
+
+        List<Long> top(int limit) {
+            List<Long> postIds = new ArrayList<>();
+            for (Ranked ranked : ordered) {
+                if (postIds.size() >= limit) {
+                    break;
+                }
+                postIds.add(ranked.postId);
+            }
+            return postIds;
+        }
+
+        void clear() {
+            ordered.clear();
+            index.clear();
+        }
+    }
+
+    private static final class Ranked {
+
+        private final Long postId;
+        private final double score;
+
+        private Ranked(Long postId, double score) {
+            this.postId = postId;
+            this.score = score;
+        }
+    }
+}
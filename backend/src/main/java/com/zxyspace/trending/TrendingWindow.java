@@ -0,0 +1,42 @@
+package com.zxyspace.trending;
+
+import com.zxyspace.exception.BusinessException;
+
+// 热门榜时间窗口：窗口长度和衰减半衰期均以小时计
+public enum TrendingWindow {
+
+    DAY("24h", 24, 6),
+    WEEK("7d", 168, 48);
+
+    private final String param;
+    private final int hours;
+    private final double halfLifeHours;
+
+    TrendingWindow(String param, int hours, double halfLifeHours) {
+        this.param = param;
+        this.hours = hours;
+        this.halfLifeHours = halfLifeHours;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public int getHours() {
+        return hours;
+    }
+
+    // 第age小时前的桶在本窗口中的衰减系数
+    public double decayFactor(int age) {
+        return Math.pow(0.5, age / halfLifeHours);
+    }
+
+    public static TrendingWindow fromParam(String param) {
+        for (TrendingWindow window : values()) {
+            if (window.param.equalsIgnoreCase(param)) {
+                return window;
+            }
+        }
+        throw new BusinessException("Unsupported trending window '" + param + "', expected 24h or 7d", "INVALID_WINDOW");
+    }
+}
@@ -0,0 +1,117 @@
+package com.zxyspace.body;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class MarkdownRendererTest {
+
+    @Test
+    void rawHtmlIsEscaped() {
+        assertThat(html("<script>alert(1)</script> & \"q\" 'a'"))
+                .isEqualTo("<p>&lt;script&gt;alert(1)&lt;/script&gt; &amp; &quot;q&quot; &#39;a&#39;</p>\n");
+    }
+
+    @Test
+    void codeIsEscapedAndUnsafeLanguageIsDropped() {
+        assertThat(html("`<i>`")).isEqualTo("<p><code>&lt;i&gt;</code></p>\n");
+        assertThat(html("```js\" onload=\"x\n<b>code</b>\n```"))
+                .isEqualTo("<pre><code>&lt;b&gt;code&lt;/b&gt;\n</code></pre>\n");
+    }
+
+    @Test
+    void headingTextIsEscapedAndAnchorsAreUnique() {
+        assertThat(html("# Title <b>\n## Title <b>"))
+                .isEqualTo("<h1 id=\"title-b\">Title &lt;b&gt;</h1>\n<h2 id=\"title-b-1\">Title &lt;b&gt;</h2>\n");
+    }
+
+    @Test
+    void attributeValuesCannotBreakOutOfQuotes() {
+        assertThat(html("[x](http://a.com/\"onmouseover=\"alert(1))"))
+                .contains("href=\"http://a.com/&quot;onmouseover=&quot;alert(1)\"");
+        assertThat(html("![a\"b](https://x.com/i.png)")).contains("alt=\"a&quot;b\"");
+        assertThat(html("[x](https://example.com/a?b=1&c=2 \"t\\\"itle\")"))
+                .contains("href=\"https://example.com/a?b=1&amp;c=2\"")
+                .contains("title=\"t\\&quot;itle\"");
+    }
+
+    @Test
+    void dangerousSchemesRenderAsPlainText() {
+        assertThat(html("[x](javascript:alert(1))")).isEqualTo("<p>x</p>\n");
+        assertThat(html("[x](JaVaScRiPt:alert(1))")).isEqualTo("<p>x</p>\n");
+        assertThat(html("[x](  JAVASCRIPT:alert(1))")).isEqualTo("<p>x</p>\n");
+        // 控制字符在判断协议前移除，不能用来拆开协议名
+        assertThat(html("[x](java\tscript:alert(1))")).isEqualTo("<p>x</p>\n");
+        assertThat(html("[x](vbscript:msgbox)")).isEqualTo("<p>x</p>\n");
+        assertThat(html("![pic](data:image/png;base64,AAA)")).isEqualTo("<p>pic</p>\n");
+        assertThat(html("<javascript:alert(1)>")).isEqualTo("<p>&lt;javascript:alert(1)&gt;</p>\n");
+    }
+
+    @Test
+    void allowedLinksKeepTheirTarget() {
+        assertThat(html("[x](/posts/1)")).isEqualTo("<p><a href=\"/posts/1\">x</a></p>\n");
+        assertThat(html("[x](mailto:a@b.c)")).isEqualTo("<p><a href=\"mailto:a@b.c\">x</a></p>\n");
+        assertThat(html("<https://example.com>")).isEqualTo("<p><a href=\"https://example.com\" "
+                + "rel=\"nofollow noopener noreferrer\" target=\"_blank\">https://example.com</a></p>\n");
+    }
+
+    @Test
+    void readingStatsCountCjkCharactersAndWords() {
+        MarkdownRenderer.RenderedBody body = MarkdownRenderer.render("# 标题\n\nhello world 你好");
+
+        assertThat(body.wordCount()).isEqualTo(6);
+        assertThat(body.readingMinutes()).isEqualTo(1);
+        assertThat(MarkdownRenderer.render("").readingMinutes()).isZero();
+    }
+
+    @Test
+    void headingsRulesAndTableDelimitersAreRecognized() {
+        assertThat(html("## Title ##  ")).isEqualTo("<h2 id=\"title\">Title</h2>\n");
+        assertThat(html("# C# #")).isEqualTo("<h1 id=\"c\">C#</h1>\n");
+        assertThat(html("#hashtag")).isEqualTo("<p>#hashtag</p>\n");
+        assertThat(html("####### seven")).isEqualTo("<p>####### seven</p>\n");
+        assertThat(html(" * * *")).isEqualTo("<hr />\n");
+        assertThat(html("-*-")).isEqualTo("<p>-*-</p>\n");
+        assertThat(html("a | b\n:- | -:\n1 | 2")).isEqualTo("<table>\n<thead>\n"
+                + "<tr><th style=\"text-align: left\">a</th><th style=\"text-align: right\">b</th></tr>\n</thead>\n<tbody>\n"
+                + "<tr><td style=\"text-align: left\">1</td><td style=\"text-align: right\">2</td></tr>\n</tbody>\n</table>\n");
+        assertThat(html("a | b\n-||-")).doesNotContain("<table>");
+    }
+
+    // 超过嵌套上限的引用和行内标记按转义后的文本输出，不会因递归过深而栈溢出
+    @Test
+    void deepNestingFallsBackToEscapedText() {
+        String quotes = html(">".repeat(20) + "<b>");
+        assertThat(quotes.split("<blockquote>", -1)).hasSize(17);
+        assertThat(quotes).contains("<p>&gt;&gt;&gt;&gt;&lt;b&gt;</p>");
+        assertThat(html(">".repeat(20000))).startsWith("<blockquote>");
+
+        String links = html("[".repeat(20) + "x" + "](/a)".repeat(20));
+        assertThat(links.split("<a href", -1)).hasSize(17);
+        assertThat(html("**".repeat(5000) + "x")).endsWith("x</p>\n");
+        assertThat(html("[".repeat(20000) + "x" + "](/a)".repeat(20000))).contains("<a href=\"/a\">");
+    }
+
+    // 找不到闭合标记的开始标记很多时，总耗时仍与正文长度成线性关系
+    @Test
+    void unmatchedMarkersRenderInLinearTime() {
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            html("*a ".repeat(100_000));
+            html("~~a ".repeat(100_000));
+            html("[".repeat(300_000));
+            html("[a](".repeat(100_000));
+            html("<".repeat(300_000) + "x>");
+            html("<a>".repeat(100_000));
+            html("# a" + " ".repeat(300_000) + "x");
+            html("a|b\n" + "|-".repeat(100_000));
+            html("- ".repeat(100_000));
+        });
+    }
+
+    private static String html(String markdown) {
+        return MarkdownRenderer.render(markdown).html();
+    }
+}
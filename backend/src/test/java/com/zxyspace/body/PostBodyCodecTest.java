@@ -0,0 +1,66 @@
+package com.zxyspace.body;
+
+import com.zxyspace.model.PostBody.Encoding;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostBodyCodecTest {
+
+    private static final String SAMPLE = "## 前言\n\n我们可以通过这个方法来实现，首先需要配置文件。\n\n"
+            + "```java\npublic class Demo {}\n```\n";
+
+    @Test
+    void deflateRoundTripsMarkdown() {
+        byte[] encoded = PostBodyCodec.encode(SAMPLE, Encoding.DEFLATE_V1);
+
+        assertThat(PostBodyCodec.decode(encoded, Encoding.DEFLATE_V1)).isEqualTo(SAMPLE);
+        assertThat(encoded.length).isLessThan(SAMPLE.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void deflateRoundTripsEmptyAndLargeBodies() {
+        // 大于解码缓冲区且难以压缩的正文，覆盖多轮inflate
+        StringBuilder large = new StringBuilder();
+        Random random = new Random(42);
+        while (large.length() < 100_000) {
+            large.appendCodePoint(random.nextBoolean() ? 'a' + random.nextInt(26) : 0x4E00 + random.nextInt(0x5000));
+        }
+
+        for (String content : new String[]{"", "x", large.toString(), "emoji 😀 and 𠮷"}) {
+            assertThat(PostBodyCodec.decode(PostBodyCodec.encode(content, Encoding.DEFLATE_V1), Encoding.DEFLATE_V1))
+                    .isEqualTo(content);
+        }
+    }
+
+    @Test
+    void plainStoresUtf8Bytes() {
+        byte[] encoded = PostBodyCodec.encode(SAMPLE, Encoding.PLAIN);
+
+        assertThat(encoded).isEqualTo(SAMPLE.getBytes(StandardCharsets.UTF_8));
+        assertThat(PostBodyCodec.decode(encoded, Encoding.PLAIN)).isEqualTo(SAMPLE);
+    }
+
+    @Test
+    void storedV1BodiesStayDecodable() {
+        // 已落库的DEFLATE_V1数据：字典一经发布不可修改，否则这里会解码失败
+        byte[] stored = Base64.getDecoder().decode("ePkDYtElQ7iPi7yUgBxxjxuauOA5GiXzuaTm5itU14LtBABLBkFB");
+
+        assertThat(PostBodyCodec.decode(stored, Encoding.DEFLATE_V1)).isEqualTo(SAMPLE);
+    }
+
+    @Test
+    void truncatedDataIsRejected() {
+        byte[] encoded = PostBodyCodec.encode(SAMPLE, Encoding.DEFLATE_V1);
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+
+        assertThatThrownBy(() -> PostBodyCodec.decode(truncated, Encoding.DEFLATE_V1))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.zxyspace.body;
+
+import com.zxyspace.dto.PostCreateRequest;
+import com.zxyspace.model.User;
+import com.zxyspace.repository.UserRepository;
+import com.zxyspace.service.PostService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 单篇正文渲染失败只跳过该篇，不中断整批重渲染（任务在启动时运行，抛出异常会导致应用无法启动）
+@SpringBootTest
+class PostBodyRenderJobTest {
+
+    @Autowired
+    private PostBodyRenderJob renderJob;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void brokenBodyIsSkippedAndOthersAreRendered() {
+        Long authorId = createUser();
+        Long broken = createPost(authorId, "broken");
+        Long healthy = createPost(authorId, "**healthy**");
+        jdbcTemplate.update("UPDATE post_bodies SET encoding = 'DEFLATE_V1', data = ?, renderer_version = NULL "
+                + "WHERE post_id = ?", "not deflate".getBytes(StandardCharsets.UTF_8), broken);
+        jdbcTemplate.update("UPDATE post_bodies SET html = NULL, renderer_version = NULL WHERE post_id = ?", healthy);
+
+        try {
+            assertThat(renderJob.rerender()).isGreaterThanOrEqualTo(1);
+
+            assertThat(rendererVersion(healthy)).isEqualTo(MarkdownRenderer.VERSION);
+            assertThat(rendererVersion(broken)).isNull();
+        } finally {
+            postService.deletePost(broken);
+        }
+    }
+
+    private Long createUser() {
+        String username = "render_job_" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("secret123")
+                .firstName("Render")
+                .lastName("Job")
+                .role(User.Role.ROLE_USER)
+                .build()).getId();
+    }
+
+    private Long createPost(Long authorId, String content) {
+        PostCreateRequest request = new PostCreateRequest();
+        request.setTitle("render job");
+        request.setContent(content);
+        return postService.createPost(request, authorId).getId();
+    }
+
+    private Integer rendererVersion(Long postId) {
+        return jdbcTemplate.queryForObject("SELECT renderer_version FROM post_bodies WHERE post_id = ?",
+                Integer.class, postId);
+    }
+}
@@ -0,0 +1,186 @@
+package com.zxyspace.body;
+
+import com.zxyspace.model.PostBody.Encoding;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 正文内联在文章行上（拆分前的posts表）与拆到post_bodies压缩存储时，摘要类查询的工作集和耗时对比。
+// 使用文件模式的H2并限制页缓存，整表扫描必须经过缓冲池；正文用变长字符串列存放，与MySQL中放得下一页时
+// TEXT随行存储的情形一致。运行：mvn test -Pbenchmark -Dtest=PostBodyStorageBenchmarkTest
+@Tag("benchmark")
+class PostBodyStorageBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostBodyStorageBenchmarkTest.class);
+
+    private static final int POSTS = 20_000;
+    private static final int AUTHORS = 200;
+    private static final int BATCH = 500;
+    private static final int RUNS = 9;
+
+    private static final String SUMMARY_COLUMNS = "id BIGINT PRIMARY KEY, title VARCHAR(255), excerpt VARCHAR(500), "
+            + "author_id BIGINT, published BOOLEAN, views INT, likes INT, comment_count INT, created_at TIMESTAMP";
+
+    // 计数类查询：按作者汇总浏览量，没有可用的索引，整表扫描
+    private static final String AUTHOR_STATS_SQL = "SELECT author_id, COUNT(*), SUM(views) FROM %s "
+            + "WHERE published = TRUE GROUP BY author_id";
+    // 列表排序：按点赞数取前20条摘要，排序列没有索引
+    private static final String TOP_LIKED_SQL = "SELECT id, title, excerpt, views, created_at FROM %s "
+            + "WHERE published = TRUE ORDER BY likes DESC, id DESC LIMIT 20";
+
+    private static final String[] WORDS = {
+            "数据库", "索引", "缓存", "并发", "事务", "分页", "查询", "性能", "优化", "线程",
+            "内存", "网络", "协议", "算法", "架构", "服务", "部署", "容器", "日志", "监控",
+            "spring", "java", "mysql", "redis", "docker", "kafka", "jvm", "http", "json", "rest"
+    };
+
+    @TempDir
+    static Path directory;
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static long rawBytes;
+    private static long encodedBytes;
+
+    @BeforeAll
+    static void setUp() {
+        // 8MB页缓存，远小于内联正文的数据量；关闭H2对未变更表的查询结果复用，每次都真正执行
+        dataSource = new SingleConnectionDataSource("jdbc:h2:file:" + directory.resolve("body_benchmark")
+                + ";CACHE_SIZE=8192;OPTIMIZE_REUSE_RESULTS=FALSE", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE posts_inline (" + SUMMARY_COLUMNS + ", content CHARACTER VARYING)");
+        jdbcTemplate.execute("CREATE TABLE posts_split (" + SUMMARY_COLUMNS + ")");
+        jdbcTemplate.execute("CREATE TABLE post_bodies (post_id BIGINT PRIMARY KEY, encoding VARCHAR(16), "
+                + "data BINARY VARYING)");
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 1; from <= POSTS; from += BATCH) {
+            List<Object[]> inline = new ArrayList<>();
+            List<Object[]> split = new ArrayList<>();
+            List<Object[]> bodies = new ArrayList<>();
+            for (long id = from; id < from + BATCH && id <= POSTS; id++) {
+                String content = markdown(random);
+                byte[] encoded = PostBodyCodec.encode(content, Encoding.DEFLATE_V1);
+                rawBytes += content.getBytes(StandardCharsets.UTF_8).length;
+                encodedBytes += encoded.length;
+
+                Object[] summary = {id, words(random, 4), words(random, 10), id % AUTHORS, true,
+                        random.nextInt(10_000), random.nextInt(500), random.nextInt(50),
+                        Timestamp.valueOf(now.minusMinutes(id))};
+                Object[] withContent = Arrays.copyOf(summary, summary.length + 1);
+                withContent[summary.length] = content;
+                inline.add(withContent);
+                split.add(summary);
+                bodies.add(new Object[]{id, Encoding.DEFLATE_V1.name(), encoded});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO posts_inline VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", inline);
+            jdbcTemplate.batchUpdate("INSERT INTO posts_split VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", split);
+            jdbcTemplate.batchUpdate("INSERT INTO post_bodies VALUES (?, ?, ?)", bodies);
+        }
+        jdbcTemplate.execute("CHECKPOINT");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Test
+    void summaryQueriesScanLessWithBodiesSplitOut() {
+        long inlineTableBytes = diskSpaceUsed("POSTS_INLINE");
+        long splitTableBytes = diskSpaceUsed("POSTS_SPLIT");
+        long bodyTableBytes = diskSpaceUsed("POST_BODIES");
+        logger.info("{} 篇文章：正文原文 {} KB，DEFLATE_V1编码后 {} KB（{}%）",
+                POSTS, rawBytes / 1024, encodedBytes / 1024, String.format("%.1f", encodedBytes * 100.0 / rawBytes));
+        logger.info("表占用：内联正文的posts {} KB；拆分后posts {} KB，post_bodies {} KB",
+                inlineTableBytes / 1024, splitTableBytes / 1024, bodyTableBytes / 1024);
+
+        for (String sql : new String[]{AUTHOR_STATS_SQL, TOP_LIKED_SQL}) {
+            assertThat(jdbcTemplate.queryForList(String.format(sql, "posts_split")))
+                    .isEqualTo(jdbcTemplate.queryForList(String.format(sql, "posts_inline")));
+
+            // 两张表交替运行，避免预热和GC只偏向其中一方
+            long[] inlineNanos = new long[RUNS];
+            long[] splitNanos = new long[RUNS];
+            for (int i = -2; i < RUNS; i++) {
+                long inlineRun = time(String.format(sql, "posts_inline"));
+                long splitRun = time(String.format(sql, "posts_split"));
+                if (i >= 0) {
+                    inlineNanos[i] = inlineRun;
+                    splitNanos[i] = splitRun;
+                }
+            }
+            double inlineMillis = medianMillis(inlineNanos);
+            double splitMillis = medianMillis(splitNanos);
+
+            logger.info("{}：内联正文 {} ms，拆分后 {} ms", sql.replace("%s", "posts"),
+                    String.format("%.2f", inlineMillis), String.format("%.2f", splitMillis));
+            assertThat(splitMillis).isLessThan(inlineMillis);
+        }
+        assertThat(encodedBytes).isLessThan(rawBytes);
+        assertThat(splitTableBytes).isLessThan(inlineTableBytes);
+    }
+
+    private static long time(String sql) {
+        long start = System.nanoTime();
+        jdbcTemplate.queryForList(sql);
+        return System.nanoTime() - start;
+    }
+
+    // 前两轮为预热不计入，取其余各轮耗时的中位数
+    private static double medianMillis(long[] nanos) {
+        Arrays.sort(nanos);
+        return nanos[nanos.length / 2] / 1_000_000.0;
+    }
+
+    private static long diskSpaceUsed(String table) {
+        return jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED('" + table + "')", Long.class);
+    }
+
+    // 固定种子生成Markdown正文：若干小节，每节一个标题、两三段文字，部分小节带代码块，约4KB
+    private static String markdown(Random random) {
+        StringBuilder text = new StringBuilder();
+        int sections = 3 + random.nextInt(3);
+        for (int s = 0; s < sections; s++) {
+            text.append("## ").append(words(random, 3)).append("\n\n");
+            int paragraphs = 2 + random.nextInt(2);
+            for (int p = 0; p < paragraphs; p++) {
+                text.append(words(random, 40 + random.nextInt(40))).append("\n\n");
+            }
+            if (random.nextInt(3) == 0) {
+                text.append("```java\npublic class Demo").append(random.nextInt(100))
+                        .append(" {\n    private static final int SIZE = ").append(random.nextInt(1000))
+                        .append(";\n}\n```\n\n");
+            }
+        }
+        return text.toString();
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+            text.append(random.nextInt(4) == 0 ? "，" : " ");
+        }
+        return text.toString().trim();
+    }
+}
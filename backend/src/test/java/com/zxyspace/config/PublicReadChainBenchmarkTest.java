@@ -0,0 +1,154 @@
+package com.zxyspace.config;
+
+import com.zxyspace.model.User;
+import com.zxyspace.repository.UserRepository;
+import com.zxyspace.security.JwtTokenProvider;
+import com.zxyspace.security.UserDetailsImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// 同一公共读请求经过两条安全过滤链的耗时：不带令牌走轻量链，带令牌走完整链（主体缓存已命中，
+// 差值即为安全上下文、会话、匿名认证、异常转换和授权等环节的开销）。
+// 分别测量只经过安全过滤链（末端为空操作）和经MockMvc完整处理请求两种情况。
+// 按生产环境的日志级别运行，开发配置的SQL输出和DEBUG日志会掩盖过滤链本身的耗时；
+// 使用自己的内存库（保留连接池，嵌入式测试库每次取连接都新建连接）。
+// 运行：mvn test -Pbenchmark -Dtest=PublicReadChainBenchmarkTest
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:chain_benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.com.zxyspace=INFO"
+})
+@AutoConfigureMockMvc
+class PublicReadChainBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicReadChainBenchmarkTest.class);
+
+    private static final String PATH = "/api/categories";
+    private static final int REQUESTS = 2000;
+    private static final int CHAIN_REQUESTS = 20_000;
+    private static final int RUNS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilterChainProxy filterChainProxy;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        String username = "chain_bench_" + UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("secret123")
+                .firstName("Chain")
+                .lastName("Benchmark")
+                .role(User.Role.ROLE_USER)
+                .build());
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        token = "Bearer " + jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Test
+    void anonymousChainIsCheaperThanFullChain() throws Exception {
+        RequestBuilder anonymous = get(PATH);
+        RequestBuilder authenticated = get(PATH).header(HttpHeaders.AUTHORIZATION, token);
+        assertThat(mockMvc.perform(anonymous).andReturn().getResponse().getStatus()).isEqualTo(200);
+        assertThat(mockMvc.perform(authenticated).andReturn().getResponse().getStatus()).isEqualTo(200);
+        // 确认两种请求分别由轻量链和完整链处理
+        assertThat(filterChainProxy.getFilterChains().get(0).matches(request(null))).isTrue();
+        assertThat(filterChainProxy.getFilterChains().get(0).matches(request(token))).isFalse();
+
+        // 两种请求交替运行，避免JIT预热和GC只偏向其中一方
+        long[][] chainNanos = new long[2][RUNS];
+        long[][] mockMvcNanos = new long[2][RUNS];
+        for (int i = -2; i < RUNS; i++) {
+            long anonymousChain = timeChain(null);
+            long authenticatedChain = timeChain(token);
+            long anonymousMockMvc = timeMockMvc(anonymous);
+            long authenticatedMockMvc = timeMockMvc(authenticated);
+            if (i >= 0) {
+                chainNanos[0][i] = anonymousChain;
+                chainNanos[1][i] = authenticatedChain;
+                mockMvcNanos[0][i] = anonymousMockMvc;
+                mockMvcNanos[1][i] = authenticatedMockMvc;
+            }
+        }
+        double anonymousChainMicros = medianMillis(chainNanos[0]) * 1000 / CHAIN_REQUESTS;
+        double authenticatedChainMicros = medianMillis(chainNanos[1]) * 1000 / CHAIN_REQUESTS;
+        double anonymousMockMvcMicros = medianMillis(mockMvcNanos[0]) * 1000 / REQUESTS;
+        double authenticatedMockMvcMicros = medianMillis(mockMvcNanos[1]) * 1000 / REQUESTS;
+
+        logger.info("GET {} 仅安全过滤链：轻量链 {} µs/次，完整链 {} µs/次；经MockMvc完整处理：轻量链 {} µs/次，完整链 {} µs/次",
+                PATH,
+                String.format("%.2f", anonymousChainMicros), String.format("%.2f", authenticatedChainMicros),
+                String.format("%.1f", anonymousMockMvcMicros), String.format("%.1f", authenticatedMockMvcMicros));
+        assertThat(anonymousChainMicros).isLessThan(authenticatedChainMicros);
+    }
+
+    private long timeChain(String authorization) throws Exception {
+        long start = System.nanoTime();
+        for (int j = 0; j < CHAIN_REQUESTS; j++) {
+            filterChainProxy.doFilter(request(authorization), new MockHttpServletResponse(), (req, res) -> {
+            });
+        }
+        return System.nanoTime() - start;
+    }
+
+    // DispatcherServlet映射在"/"上，路径匹配使用servletPath，直接构造请求时需要手动设置
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.setServletPath(PATH);
+        if (authorization != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return request;
+    }
+
+    private long timeMockMvc(RequestBuilder request) throws Exception {
+        long start = System.nanoTime();
+        for (int j = 0; j < REQUESTS; j++) {
+            mockMvc.perform(request);
+        }
+        return System.nanoTime() - start;
+    }
+
+    // 前两轮为预热不计入，取其余各轮耗时的中位数
+    private static double medianMillis(long[] nanos) {
+        Arrays.sort(nanos);
+        return nanos[nanos.length / 2] / 1_000_000.0;
+    }
+}
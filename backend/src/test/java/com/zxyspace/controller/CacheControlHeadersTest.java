@@ -0,0 +1,71 @@
+package com.zxyspace.controller;
+
+import com.zxyspace.model.User;
+import com.zxyspace.repository.UserRepository;
+import com.zxyspace.security.JwtTokenProvider;
+import com.zxyspace.security.UserDetailsImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 需要登录的评论接口不得允许共享缓存存储；匿名可读的文章、分类接口保持public
+@SpringBootTest
+@AutoConfigureMockMvc
+class CacheControlHeadersTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByUsername("cache_control_user").orElseGet(() -> userRepository.save(User.builder()
+                .username("cache_control_user")
+                .email("cache_control_user@example.com")
+                .password("secret123")
+                .firstName("Cache")
+                .lastName("Control")
+                .role(User.Role.ROLE_USER)
+                .build()));
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        token = "Bearer " + jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Test
+    void commentReadsArePrivate() throws Exception {
+        mockMvc.perform(get("/api/comments/user/" + user.getId()).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("private")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, not(containsString("public"))));
+    }
+
+    @Test
+    void anonymousPostAndTaxonomyReadsStayPublic() throws Exception {
+        mockMvc.perform(get("/api/posts"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("public")));
+        mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("public")));
+    }
+}
@@ -0,0 +1,166 @@
+package com.zxyspace.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zxyspace.dto.PostCreateRequest;
+import com.zxyspace.model.User;
+import com.zxyspace.repository.UserRepository;
+import com.zxyspace.security.JwtTokenProvider;
+import com.zxyspace.security.UserDetailsImpl;
+import com.zxyspace.service.PostService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 评论的创建和删除（经MockMvc走完整的接口）耗时不随文章已有评论数增长：分别在已有10、1000、10万条评论的文章上测量。
+// 已有评论用JDBC批量写入，ID取在序列分配范围之外。按生产环境的日志级别运行，开发配置的SQL输出和DEBUG日志会掩盖接口本身的耗时；
+// 使用自己的内存库（保留连接池，嵌入式测试库每次取连接都新建连接）。运行：mvn test -Pbenchmark -Dtest=CommentWriteBenchmarkTest
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:comment_benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.com.zxyspace=INFO"
+})
+@AutoConfigureMockMvc
+class CommentWriteBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentWriteBenchmarkTest.class);
+
+    private static final int[] EXISTING_COMMENTS = {10, 1_000, 100_000};
+    private static final long SEEDED_ID_BASE = 10_000_000L;
+    private static final int BATCH = 5_000;
+    private static final int RUNS = 50;
+    // 宽松的上限：10万条评论时的中位数不超过10条时的这个倍数
+    private static final double MAX_GROWTH = 3.0;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void createAndDeleteStayFlatAsCommentsGrow() throws Exception {
+        String username = "comment_bench_" + UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("secret123")
+                .firstName("Comment")
+                .lastName("Benchmark")
+                .role(User.Role.ROLE_USER)
+                .build());
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        String token = "Bearer " + jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        double[] createMillis = new double[EXISTING_COMMENTS.length];
+        double[] deleteMillis = new double[EXISTING_COMMENTS.length];
+        long nextSeededId = SEEDED_ID_BASE;
+        for (int s = 0; s < EXISTING_COMMENTS.length; s++) {
+            Long postId = createPost(user.getId());
+            seedComments(postId, user.getId(), nextSeededId, EXISTING_COMMENTS[s]);
+            nextSeededId += EXISTING_COMMENTS[s];
+
+            // 前两轮为预热不计入
+            long[] createNanos = new long[RUNS];
+            long[] deleteNanos = new long[RUNS];
+            for (int i = -2; i < RUNS; i++) {
+                long start = System.nanoTime();
+                String body = mockMvc.perform(post("/api/comments/post/" + postId + "/user/" + user.getId())
+                                .header(HttpHeaders.AUTHORIZATION, token)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"content\":\"benchmark\",\"postId\":" + postId + "}"))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString();
+                long created = System.nanoTime() - start;
+                long commentId = objectMapper.readTree(body).get("id").asLong();
+
+                start = System.nanoTime();
+                mockMvc.perform(delete("/api/comments/" + commentId).header(HttpHeaders.AUTHORIZATION, token))
+                        .andExpect(status().isNoContent());
+                long deleted = System.nanoTime() - start;
+                if (i >= 0) {
+                    createNanos[i] = created;
+                    deleteNanos[i] = deleted;
+                }
+            }
+            createMillis[s] = medianMillis(createNanos);
+            deleteMillis[s] = medianMillis(deleteNanos);
+            assertThat(commentCount(postId)).isEqualTo(EXISTING_COMMENTS[s]);
+
+            logger.info("文章已有 {} 条评论：创建中位数 {} ms，删除中位数 {} ms", EXISTING_COMMENTS[s],
+                    String.format("%.2f", createMillis[s]), String.format("%.2f", deleteMillis[s]));
+        }
+
+        int largest = EXISTING_COMMENTS.length - 1;
+        assertThat(createMillis[largest]).isLessThan(createMillis[0] * MAX_GROWTH);
+        assertThat(deleteMillis[largest]).isLessThan(deleteMillis[0] * MAX_GROWTH);
+    }
+
+    private Long createPost(Long authorId) {
+        PostCreateRequest request = new PostCreateRequest();
+        request.setTitle("comment benchmark");
+        request.setContent("comment benchmark");
+        return postService.createPost(request, authorId).getId();
+    }
+
+    // 顶层评论直接写表，文章上的评论计数同步设为相同数量
+    private void seedComments(Long postId, Long userId, long firstId, int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < count; from += BATCH) {
+            List<Object[]> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + BATCH, count); i++) {
+                batch.add(new Object[]{firstId + i, "seeded " + i, postId, userId, now, now});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO comments (id, content, post_id, user_id, created_at, updated_at, "
+                    + "likes, reply_count, path) VALUES (?, ?, ?, ?, ?, ?, 0, 0, '')", batch);
+        }
+        jdbcTemplate.update("UPDATE posts SET comment_count = ? WHERE id = ?", count, postId);
+    }
+
+    private int commentCount(Long postId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE post_id = ?", Integer.class, postId);
+    }
+
+    private static double medianMillis(long[] nanos) {
+        Arrays.sort(nanos);
+        return nanos[nanos.length / 2] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,78 @@
+package com.zxyspace.controller;
+
+import com.zxyspace.counter.PostViewCounter;
+import com.zxyspace.dto.PostCreateRequest;
+import com.zxyspace.model.User;
+import com.zxyspace.repository.UserRepository;
+import com.zxyspace.service.PostService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 列表返回已持久化的浏览量：写回之前条件GET返回304，写回之后ETag变化、返回新的列表
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostListETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void viewFlushChangesListETag() throws Exception {
+        Long postId = createPost(createUser());
+        String url = "/api/posts?sortBy=views";
+
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        // 浏览只进入缓冲，列表内容不变
+        postViewCounter.increment(postId);
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        postViewCounter.flush();
+        String flushed = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(flushed).isNotEqualTo(etag);
+    }
+
+    private Long createUser() {
+        String username = "list_etag_" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("secret123")
+                .firstName("List")
+                .lastName("ETag")
+                .role(User.Role.ROLE_USER)
+                .build()).getId();
+    }
+
+    private Long createPost(Long authorId) {
+        PostCreateRequest request = new PostCreateRequest();
+        request.setTitle("list etag");
+        request.setContent("list etag");
+        return postService.createPost(request, authorId).getId();
+    }
+}
@@ -0,0 +1,95 @@
+package com.zxyspace.controller;
+
+import com.zxyspace.dto.PostImportRequest;
+import com.zxyspace.model.User;
+import com.zxyspace.repository.PostRepository;
+import com.zxyspace.repository.UserRepository;
+import com.zxyspace.service.PostImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 越界的size按[1, posts.list.max-size]截断，而不是抛出500。
+// 属性不同即为独立的上下文，使用自己的内存库，以免create-drop重建其他上下文正在使用的表
+@SpringBootTest(properties = "posts.list.max-size=20")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class PostPaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostImportService postImportService;
+
+    // 至少两篇文章：size=0时旧实现会对空子列表取末行
+    @BeforeEach
+    void setUp() {
+        if (postRepository.count() >= 2) {
+            return;
+        }
+        User author = userRepository.save(User.builder()
+                .username("pagination_author")
+                .email("pagination_author@example.com")
+                .password("secret123")
+                .firstName("Page")
+                .lastName("Author")
+                .role(User.Role.ROLE_USER)
+                .build());
+        postImportService.importPosts(List.of(post("first"), post("second")), author.getId());
+    }
+
+    @Test
+    void cursorPageSizeIsClampedToAtLeastOne() throws Exception {
+        mockMvc.perform(get("/api/posts").param("pagination", "cursor").param("size", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(1));
+        mockMvc.perform(get("/api/posts").param("pagination", "cursor").param("size", "-5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(1));
+    }
+
+    @Test
+    void cursorPageSizeIsClampedToMaximum() throws Exception {
+        mockMvc.perform(get("/api/posts").param("pagination", "cursor").param("size", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(20));
+    }
+
+    @Test
+    void offsetPageSizeIsClamped() throws Exception {
+        mockMvc.perform(get("/api/posts").param("size", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(1));
+        mockMvc.perform(get("/api/posts").param("size", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(20));
+    }
+
+    private static PostImportRequest post(String title) {
+        PostImportRequest request = new PostImportRequest();
+        request.setTitle(title);
+        request.setContent("content of " + title);
+        request.setCategoryName("pagination");
+        request.setTagNames(Set.of("pagination"));
+        request.setPublished(true);
+        return request;
+    }
+}
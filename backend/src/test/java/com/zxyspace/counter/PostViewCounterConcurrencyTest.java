@@ -0,0 +1,116 @@
+package com.zxyspace.counter;
+
+import com.zxyspace.dto.PostCreateRequest;
+import com.zxyspace.model.User;
+import com.zxyspace.repository.UserRepository;
+import com.zxyspace.service.PostService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 多线程并发浏览的同时不断写回（两个写回线程互相交错，外加定时写回），写入数据库的浏览量与浏览次数完全一致
+@SpringBootTest
+class PostViewCounterConcurrencyTest {
+
+    private static final int VIEWERS = 8;
+    private static final int VIEWS_PER_VIEWER = 20_000;
+    private static final int FLUSHERS = 2;
+    private static final int POSTS = 3;
+
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentIncrementsAndFlushesLoseNothing() throws Exception {
+        Long authorId = createUser();
+        List<Long> postIds = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            postIds.add(createPost(authorId));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(VIEWERS + FLUSHERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicBoolean viewing = new AtomicBoolean(true);
+            List<Future<?>> viewers = new ArrayList<>();
+            for (int v = 0; v < VIEWERS; v++) {
+                viewers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < VIEWS_PER_VIEWER; i++) {
+                        postViewCounter.increment(postIds.get(i % POSTS));
+                    }
+                    return null;
+                }));
+            }
+            List<Future<?>> flushers = new ArrayList<>();
+            for (int f = 0; f < FLUSHERS; f++) {
+                flushers.add(executor.submit(() -> {
+                    start.await();
+                    while (viewing.get()) {
+                        postViewCounter.flush();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> viewer : viewers) {
+                viewer.get();
+            }
+            viewing.set(false);
+            for (Future<?> flusher : flushers) {
+                flusher.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        postViewCounter.flush();
+
+        long total = 0;
+        for (Long postId : postIds) {
+            assertThat(postViewCounter.getPending(postId)).isZero();
+            total += jdbcTemplate.queryForObject("SELECT views FROM posts WHERE id = ?", Long.class, postId);
+        }
+        assertThat(total).isEqualTo((long) VIEWERS * VIEWS_PER_VIEWER);
+    }
+
+    private Long createUser() {
+        String username = "views_" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("secret123")
+                .firstName("View")
+                .lastName("Counter")
+                .role(User.Role.ROLE_USER)
+                .build()).getId();
+    }
+
+    private Long createPost(Long authorId) {
+        PostCreateRequest request = new PostCreateRequest();
+        request.setTitle("views");
+        request.setContent("views");
+        return postService.createPost(request, authorId).getId();
+    }
+}
@@ -0,0 +1,84 @@
+package com.zxyspace.counter;
+
+import com.zxyspace.event.PostCounterChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostViewCounterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private PostViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        counter = new PostViewCounter(jdbcTemplate, mock(PlatformTransactionManager.class), eventPublisher);
+    }
+
+    @Test
+    void pendingViewsStayVisibleUntilTheBatchCommits() {
+        counter.increment(1L);
+        counter.increment(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            // 写回进行中：读取仍能看到增量，期间的新浏览也只累加到缓冲
+            assertThat(counter.getPending(1L)).isEqualTo(2);
+            counter.increment(1L);
+            return new int[]{1};
+        });
+
+        counter.flush();
+
+        // 只扣除已写回的2次，写回期间新增的1次留到下一轮
+        assertThat(counter.getPending(1L)).isEqualTo(1);
+        ArgumentCaptor<PostCounterChangedEvent> event = ArgumentCaptor.forClass(PostCounterChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getPostId()).isEqualTo(1L);
+        assertThat(event.getValue().getViewsDelta()).isEqualTo(2);
+    }
+
+    @Test
+    void flushedEntriesAreRemoved() {
+        counter.increment(1L);
+        counter.increment(2L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 1});
+
+        counter.flush();
+
+        assertThat(counter.getPending(1L)).isZero();
+        assertThat(counter.getPending(2L)).isZero();
+    }
+
+    @Test
+    void failedBatchKeepsEveryDeltaForRetry() {
+        counter.increment(1L);
+        counter.increment(2L);
+        counter.increment(2L);
+        counter.increment(3L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        counter.flush();
+
+        assertThat(List.of(counter.getPending(1L), counter.getPending(2L), counter.getPending(3L)))
+                .containsExactly(1L, 2L, 1L);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}
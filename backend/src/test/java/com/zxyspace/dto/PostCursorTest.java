@@ -0,0 +1,109 @@
+package com.zxyspace.dto;
+
+import com.zxyspace.exception.BusinessException;
+import com.zxyspace.model.Post;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostCursorTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000);
+
+    @Test
+    void createdAtCursorRoundTrips() {
+        String encoded = PostCursor.after(row(42L, 7, CREATED_AT), "createdAt", true).encode();
+
+        PostCursor decoded = PostCursor.decode(encoded, "createdAt", true);
+
+        assertThat(decoded.getSortKey()).isEqualTo(CREATED_AT);
+        assertThat(decoded.getId()).isEqualTo(42L);
+        assertThat(decoded.isDescending()).isTrue();
+    }
+
+    @Test
+    void viewsCursorRoundTrips() {
+        String encoded = PostCursor.after(row(42L, 7, CREATED_AT), "views", false).encode();
+
+        PostCursor decoded = PostCursor.decode(encoded, "views", false);
+
+        assertThat(decoded.getSortKey()).isEqualTo(7);
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = PostCursor.after(row(Long.MAX_VALUE, 7, CREATED_AT), "createdAt", true).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void cursorForAnotherSortOrderIsRejected() {
+        String encoded = PostCursor.after(row(42L, 7, CREATED_AT), "createdAt", true).encode();
+
+        assertInvalidCursor(() -> PostCursor.decode(encoded, "createdAt", false));
+        assertInvalidCursor(() -> PostCursor.decode(encoded, "views", true));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertInvalidCursor(() -> PostCursor.decode("not base64!", "createdAt", true));
+        assertInvalidCursor(() -> PostCursor.decode(encode("createdAt|desc|yesterday|42"), "createdAt", true));
+        assertInvalidCursor(() -> PostCursor.decode(encode("createdAt|desc|42"), "createdAt", true));
+        assertInvalidCursor(() -> PostCursor.decode(encode("views|desc|7|abc"), "views", true));
+    }
+
+    @Test
+    void onlyIndexedColumnsAreSortable() {
+        PostCursor.checkSortable("createdAt");
+        PostCursor.checkSortable("views");
+
+        assertInvalidCursor(() -> PostCursor.checkSortable("title"));
+        assertInvalidCursor(() -> PostCursor.checkSortable("likes"));
+    }
+
+    @Test
+    void everySortableColumnHasAKeysetIndexPerFilter() throws Exception {
+        Set<String> indexes = new HashSet<>();
+        for (Index index : Post.class.getAnnotation(Table.class).indexes()) {
+            indexes.add(index.columnList());
+        }
+
+        for (String sortBy : PostCursor.SORTABLE_COLUMNS) {
+            String sortColumn = sortBy.replaceAll("([A-Z])", "_$1").toLowerCase(Locale.ROOT);
+            for (String filterColumn : new String[]{"", "published, ", "author_id, ", "category_id, "}) {
+                assertThat(indexes).contains(filterColumn + sortColumn + ", id");
+            }
+        }
+        JoinTable postTags = Post.class.getDeclaredField("tags").getAnnotation(JoinTable.class);
+        assertThat(postTags.indexes()).extracting(Index::columnList).contains("tag_id, post_id");
+    }
+
+    private static void assertInvalidCursor(Runnable action) {
+        assertThatThrownBy(action::run)
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode")
+                .isEqualTo("INVALID_CURSOR");
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PostSummaryRow row(Long id, int views, LocalDateTime createdAt) {
+        return new PostSummaryRow(id, "title", "excerpt", null, true, views, 0, 0, createdAt, createdAt,
+                1L, "author", "A", "B", null, 1L, "category", null);
+    }
+}
@@ -0,0 +1,50 @@
+package com.zxyspace.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommentPathTest {
+
+    @Test
+    void builderDefaultsToRootComment() {
+        Comment comment = Comment.builder().content("root").build();
+
+        assertThat(comment.getPath()).isEmpty();
+        assertThat(comment.getReplyCount()).isZero();
+        assertThat(comment.getLikes()).isZero();
+    }
+
+    @Test
+    void childPathAppendsOwnIdToAncestorChain() {
+        Comment root = comment(12L, null, "");
+        Comment reply = comment(57L, 12L, root.childPath());
+        Comment nested = comment(90L, 12L, reply.childPath());
+
+        assertThat(root.childPath()).isEqualTo("12/");
+        assertThat(reply.childPath()).isEqualTo("12/57/");
+        assertThat(nested.getPath()).isEqualTo("12/57/");
+        assertThat(nested.childPath()).isEqualTo("12/57/90/");
+    }
+
+    @Test
+    void threadRootIsSelfForTopLevelComments() {
+        assertThat(comment(12L, null, "").threadRootId()).isEqualTo(12L);
+        assertThat(comment(57L, 12L, "12/").threadRootId()).isEqualTo(12L);
+    }
+
+    @Test
+    void ancestorIdsAreOrderedFromThreadRootToParent() {
+        assertThat(Comment.ancestorIds("")).isEmpty();
+        assertThat(Comment.ancestorIds("12/")).containsExactly(12L);
+        assertThat(Comment.ancestorIds("12/57/90/")).isEqualTo(List.of(12L, 57L, 90L));
+    }
+
+    private static Comment comment(Long id, Long threadId, String path) {
+        Comment comment = Comment.builder().threadId(threadId).path(path).build();
+        comment.setId(id);
+        return comment;
+    }
+}
@@ -0,0 +1,185 @@
+package com.zxyspace.purge;
+
+import com.zxyspace.dto.CommentCreateRequest;
+import com.zxyspace.dto.PostBulkDeleteRequest;
+import com.zxyspace.dto.PostBulkDeleteResultDto;
+import com.zxyspace.dto.PostCreateRequest;
+import com.zxyspace.exception.BusinessException;
+import com.zxyspace.model.User;
+import com.zxyspace.repository.UserRepository;
+import com.zxyspace.service.CommentService;
+import com.zxyspace.service.PostService;
+import com.zxyspace.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 集合式删除后，剩余评论的reply_count、文章的comment_count和点赞数应与实际行数一致
+@SpringBootTest
+class ContentPurgerTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long alice;
+    private Long bob;
+
+    // 共享的测试上下文中数据会保留，用户名每次随机生成，断言只针对本测试创建的行
+    @BeforeEach
+    void setUp() {
+        alice = createUser("purge_alice");
+        bob = createUser("purge_bob");
+    }
+
+    @Test
+    void deleteUserKeepsReplyAndCommentCountsConsistent() {
+        Long bobPost = createPost(bob);
+        Long alicePost = createPost(alice);
+
+        // bobPost下的评论树（括号内为作者）：
+        // r(bob) ─ ra(alice) ─ rab(bob)
+        //        └ rb(bob)
+        // a(alice) ─ ab(bob) ─ aba(alice)
+        Long r = comment(bobPost, bob, null);
+        Long ra = comment(bobPost, alice, r);
+        comment(bobPost, bob, ra);
+        Long rb = comment(bobPost, bob, r);
+        Long a = comment(bobPost, alice, null);
+        Long ab = comment(bobPost, bob, a);
+        comment(bobPost, alice, ab);
+        Long onAlicePost = comment(alicePost, bob, null);
+
+        postService.likePost(bobPost, alice);
+        commentService.likeComment(r, alice);
+        commentService.likeComment(ra, bob);
+        assertThat(commentCount(bobPost)).isEqualTo(7);
+        assertThat(replyCount(r)).isEqualTo(3);
+
+        userService.deleteUser(alice);
+
+        assertThat(exists("users", alice)).isFalse();
+        assertThat(exists("posts", alicePost)).isFalse();
+        assertThat(exists("comments", onAlicePost)).isFalse();
+        // alice的评论连同其回复子树一起删除，只剩r和rb
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM comments WHERE post_id = ? ORDER BY id", Long.class, bobPost))
+                .containsExactly(r, rb);
+        assertThat(replyCount(r)).isEqualTo(1);
+        assertThat(replyCount(rb)).isZero();
+        assertThat(commentCount(bobPost)).isEqualTo(2);
+        // alice的点赞被撤销，被删评论上的点赞记录随评论删除
+        assertThat(jdbcTemplate.queryForObject("SELECT likes FROM posts WHERE id = ?", Integer.class, bobPost)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT likes FROM comments WHERE id = ?", Integer.class, r)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM comment_likes WHERE comment_id = ?", ra)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM post_likes WHERE user_id = ?", alice)).isZero();
+    }
+
+    @Test
+    void deletePostRemovesDependentRows() {
+        Long post = createPost(bob);
+        Long root = comment(post, alice, null);
+        Long reply = comment(post, bob, root);
+        postService.likePost(post, alice);
+        commentService.likeComment(reply, alice);
+
+        postService.deletePost(post);
+
+        assertThat(exists("posts", post)).isFalse();
+        assertThat(count("SELECT COUNT(*) FROM comments WHERE post_id = ?", post)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM post_likes WHERE post_id = ?", post)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM comment_likes WHERE comment_id IN (?, ?)", root, reply)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM post_bodies WHERE post_id = ?", post)).isZero();
+    }
+
+    @Test
+    void bulkDeleteByAuthorCountsDeletedRows() {
+        Long first = createPost(alice);
+        Long second = createPost(alice);
+        Long other = createPost(bob);
+        comment(first, bob, null);
+        comment(second, bob, null);
+
+        PostBulkDeleteRequest request = new PostBulkDeleteRequest();
+        request.setAuthorId(alice);
+        PostBulkDeleteResultDto result = postService.deletePosts(request);
+
+        assertThat(result.getPostsDeleted()).isEqualTo(2);
+        assertThat(result.getCommentsDeleted()).isEqualTo(2);
+        assertThat(exists("posts", first)).isFalse();
+        assertThat(exists("posts", second)).isFalse();
+        assertThat(exists("posts", other)).isTrue();
+    }
+
+    @Test
+    void bulkDeleteRequiresExactlyOneSelector() {
+        PostBulkDeleteRequest neither = new PostBulkDeleteRequest();
+        assertThatThrownBy(() -> postService.deletePosts(neither)).isInstanceOf(BusinessException.class);
+
+        PostBulkDeleteRequest both = new PostBulkDeleteRequest();
+        both.setIds(List.of(1L));
+        both.setAuthorId(bob);
+        assertThatThrownBy(() -> postService.deletePosts(both)).isInstanceOf(BusinessException.class);
+    }
+
+    private Long createUser(String prefix) {
+        String username = prefix + "_" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("secret123")
+                .firstName("Purge")
+                .lastName("Test")
+                .role(User.Role.ROLE_USER)
+                .build()).getId();
+    }
+
+    private Long createPost(Long authorId) {
+        PostCreateRequest request = new PostCreateRequest();
+        request.setTitle("purge");
+        request.setContent("purge content");
+        return postService.createPost(request, authorId).getId();
+    }
+
+    private Long comment(Long postId, Long userId, Long parentId) {
+        CommentCreateRequest request = new CommentCreateRequest();
+        request.setContent("comment");
+        request.setPostId(postId);
+        request.setParentId(parentId);
+        return commentService.createComment(request, postId, userId).getId();
+    }
+
+    private int replyCount(Long commentId) {
+        return jdbcTemplate.queryForObject("SELECT reply_count FROM comments WHERE id = ?", Integer.class, commentId);
+    }
+
+    private int commentCount(Long postId) {
+        return jdbcTemplate.queryForObject("SELECT comment_count FROM posts WHERE id = ?", Integer.class, postId);
+    }
+
+    private boolean exists(String table, Long id) {
+        return count("SELECT COUNT(*) FROM " + table + " WHERE id = ?", id) > 0;
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+}
@@ -0,0 +1,174 @@
+package com.zxyspace.search;
+
+import com.zxyspace.body.PostBodyStore;
+import com.zxyspace.repository.PostRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 10万篇文章语料上对比倒排索引检索与原 LOWER(...) LIKE '%kw%' 查询（分页查询+count）的延迟。
+// 原查询在独立的H2内存库上执行，与应用的测试库隔离；运行：mvn test -Pbenchmark -Dtest=PostSearchBenchmarkTest
+@Tag("benchmark")
+class PostSearchBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchBenchmarkTest.class);
+
+    private static final int POSTS = 100_000;
+    private static final int PAGE_SIZE = 10;
+    private static final int LIKE_RUNS = 5;
+    private static final int INDEX_RUNS = 50;
+
+    private static final String[] WORDS = {
+            "数据库", "索引", "缓存", "并发", "事务", "分页", "查询", "性能", "优化", "线程",
+            "内存", "网络", "协议", "算法", "架构", "服务", "部署", "容器", "日志", "监控",
+            "测试", "框架", "编译", "接口", "安全", "加密", "存储", "集群", "负载", "均衡",
+            "spring", "java", "mysql", "redis", "docker", "kafka", "jvm", "http", "json", "rest"
+    };
+    // 只出现在约千分之一文章中的低频词
+    private static final String RARE_WORD = "kubernetes";
+    private static final String[] QUERIES = {"数据库", "缓存 redis", "并发 事务", RARE_WORD};
+
+    private static final String LIKE_PAGE_SQL = "SELECT id FROM posts WHERE published = TRUE AND "
+            + "(LOWER(title) LIKE LOWER(CONCAT('%', ?, '%')) OR LOWER(content) LIKE LOWER(CONCAT('%', ?, '%'))) "
+            + "ORDER BY created_at DESC LIMIT ?";
+    private static final String LIKE_COUNT_SQL = "SELECT COUNT(*) FROM posts WHERE published = TRUE AND "
+            + "(LOWER(title) LIKE LOWER(CONCAT('%', ?, '%')) OR LOWER(content) LIKE LOWER(CONCAT('%', ?, '%')))";
+
+    private static List<PostSearchDocument> corpus;
+    private static JdbcTemplate jdbcTemplate;
+    private static PostSearchIndex index;
+
+    @BeforeAll
+    static void setUp() {
+        corpus = generateCorpus();
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:search_benchmark;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE posts (id BIGINT PRIMARY KEY, title VARCHAR(255), excerpt VARCHAR(500), "
+                + "content TEXT, published BOOLEAN, created_at TIMESTAMP)");
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < POSTS; from += 1000) {
+            List<Object[]> batch = new ArrayList<>();
+            for (PostSearchDocument document : corpus.subList(from, Math.min(from + 1000, POSTS))) {
+                batch.add(new Object[]{document.getId(), document.getTitle(), document.getExcerpt(),
+                        document.getContent(), true, Timestamp.valueOf(now.minusMinutes(document.getId()))});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO posts VALUES (?, ?, ?, ?, ?, ?)", batch);
+        }
+
+        index = new PostSearchIndex(corpusRepository(), corpusBodyStore());
+        long start = System.nanoTime();
+        index.rebuild();
+        logger.info("索引构建：{} 篇文章，{} ms", POSTS, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void indexIsFasterThanLikeScan() {
+        for (String query : QUERIES) {
+            long likeHits = jdbcTemplate.queryForObject(LIKE_COUNT_SQL, Long.class, query, query);
+            long indexHits = index.search(query, 0, PAGE_SIZE).getTotalHits();
+
+            double likeMillis = medianMillis(LIKE_RUNS, () -> {
+                jdbcTemplate.queryForList(LIKE_PAGE_SQL, Long.class, query, query, PAGE_SIZE);
+                jdbcTemplate.queryForObject(LIKE_COUNT_SQL, Long.class, query, query);
+            });
+            double indexMillis = medianMillis(INDEX_RUNS, () -> index.search(query, 0, PAGE_SIZE));
+
+            logger.info("查询 [{}]：LIKE {} 条命中，中位数 {} ms；索引 {} 条命中，中位数 {} ms",
+                    query, likeHits, String.format("%.2f", likeMillis), indexHits, String.format("%.3f", indexMillis));
+            assertThat(indexHits).isPositive();
+            assertThat(indexMillis).isLessThan(likeMillis);
+        }
+    }
+
+    // 先预热两次，再取多次运行耗时的中位数
+    private static double medianMillis(int runs, Runnable task) {
+        task.run();
+        task.run();
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            task.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[runs / 2] / 1_000_000.0;
+    }
+
+    // 固定种子生成语料：标题4个词，摘要10个词，正文约80个词，每几个词一个标点
+    private static List<PostSearchDocument> generateCorpus() {
+        Random random = new Random(42);
+        List<PostSearchDocument> documents = new ArrayList<>(POSTS);
+        for (long id = 1; id <= POSTS; id++) {
+            String content = words(random, 80);
+            if (random.nextInt(1000) == 0) {
+                content += " " + RARE_WORD;
+            }
+            documents.add(new PostSearchDocument(id, words(random, 4), words(random, 10), content));
+        }
+        return documents;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+            text.append(random.nextInt(4) == 0 ? "，" : " ");
+        }
+        return text.toString();
+    }
+
+    // 按ID分批返回语料，与 findSearchDocuments(afterId, limit) 的语义一致（ID从1连续递增）
+    private static PostRepository corpusRepository() {
+        PostRepository repository = mock(PostRepository.class);
+        when(repository.findSearchDocuments(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            int afterId = ((Long) invocation.getArgument(0)).intValue();
+            Pageable pageable = invocation.getArgument(1);
+            return corpus.subList(Math.min(afterId, POSTS), Math.min(afterId + pageable.getPageSize(), POSTS)).stream()
+                    .map(document -> new PostSearchDocument(document.getId(), document.getTitle(), document.getExcerpt()))
+                    .toList();
+        });
+        return repository;
+    }
+
+    private static PostBodyStore corpusBodyStore() {
+        PostBodyStore bodyStore = mock(PostBodyStore.class);
+        when(bodyStore.loadAll(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            Map<Long, String> contents = new HashMap<>();
+            for (Long id : ids) {
+                contents.put(id, corpus.get(id.intValue() - 1).getContent());
+            }
+            return contents;
+        });
+        return bodyStore;
+    }
+}
@@ -0,0 +1,61 @@
+package com.zxyspace.search;
+
+import com.zxyspace.body.PostBodyStore;
+import com.zxyspace.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PostSearchIndexTest {
+
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // 25篇文章，标题中"spring"出现的次数随ID递增，得分顺序即ID倒序
+        List<PostSearchDocument> documents = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            documents.add(new PostSearchDocument(id, "spring ".repeat((int) id), "", ""));
+        }
+        PostRepository postRepository = mock(PostRepository.class);
+        when(postRepository.findSearchDocuments(eq(0L), any(Pageable.class))).thenReturn(documents);
+        PostBodyStore postBodyStore = mock(PostBodyStore.class);
+        when(postBodyStore.loadAll(anyCollection())).thenReturn(Map.of());
+
+        index = new PostSearchIndex(postRepository, postBodyStore);
+        index.rebuild();
+    }
+
+    @Test
+    void pagesAreSlicedByScore() {
+        assertThat(index.search("spring", 0, 10).getPostIds()).startsWith(25L, 24L).hasSize(10);
+        assertThat(index.search("spring", 2, 10).getPostIds()).containsExactly(5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void pagePastTheLastHitIsEmptyButKeepsTheTotal() {
+        PostSearchIndex.SearchResult result = index.search("spring", 3, 10);
+
+        assertThat(result.getPostIds()).isEmpty();
+        assertThat(result.getTotalHits()).isEqualTo(25);
+    }
+
+    @Test
+    void offsetOverflowingIntIsEmpty() {
+        PostSearchIndex.SearchResult result = index.search("spring", Integer.MAX_VALUE / 2, 100);
+
+        assertThat(result.getPostIds()).isEmpty();
+        assertThat(result.getTotalHits()).isEqualTo(25);
+    }
+}
@@ -0,0 +1,53 @@
+package com.zxyspace.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTokenizerTest {
+
+    @Test
+    void indexEmitsCjkUnigramsAndBigrams() {
+        assertThat(SearchTokenizer.tokenizeForIndex("数据库"))
+                .containsExactly("数", "据", "库", "数据", "据库");
+    }
+
+    @Test
+    void queryUsesOnlyBigramsForMultiCharacterCjkRuns() {
+        assertThat(SearchTokenizer.tokenizeForQuery("数据库")).containsExactly("数据", "据库");
+        assertThat(SearchTokenizer.tokenizeForQuery("库")).containsExactly("库");
+    }
+
+    @Test
+    void bigramsDoNotCrossScriptOrPunctuationBoundaries() {
+        assertThat(SearchTokenizer.tokenizeForQuery("学习Java编程，入门"))
+                .containsExactly("学习", "java", "编程", "入门");
+    }
+
+    @Test
+    void latinWordsAreLowercasedAndSplitOnPunctuation() {
+        assertThat(SearchTokenizer.tokenizeForIndex("Spring-Boot 3.1, JPA!"))
+                .containsExactly("spring", "boot", "3", "1", "jpa");
+    }
+
+    @Test
+    void kanaAndHangulAreTreatedAsCjk() {
+        assertThat(SearchTokenizer.tokenizeForQuery("カタカナ")).containsExactly("カタ", "タカ", "カナ");
+        assertThat(SearchTokenizer.tokenizeForQuery("한국어")).containsExactly("한국", "국어");
+    }
+
+    @Test
+    void supplementaryHanCharactersStayWhole() {
+        // U+20BB7 在UTF-16中占两个char，不能被拆成半个代理对
+        String rare = new String(Character.toChars(0x20BB7));
+        assertThat(SearchTokenizer.tokenizeForIndex(rare + "野"))
+                .containsExactly(rare, "野", rare + "野");
+    }
+
+    @Test
+    void overlongWordsAreDropped() {
+        assertThat(SearchTokenizer.tokenizeForIndex("a".repeat(65) + " ok")).containsExactly("ok");
+        assertThat(SearchTokenizer.tokenizeForIndex(null)).isEmpty();
+        assertThat(SearchTokenizer.tokenizeForIndex("")).isEmpty();
+    }
+}
@@ -0,0 +1,101 @@
+package com.zxyspace.security;
+
+import com.zxyspace.dto.JwtResponse;
+import com.zxyspace.dto.LoginRequest;
+import com.zxyspace.dto.RegisterRequest;
+import com.zxyspace.model.User;
+import com.zxyspace.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 以真实Servlet容器启动（H2控制台Servlet同时注册），验证安全配置能加载，且管理员令牌能访问管理接口
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AdminAccessTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        register("admin_access", true);
+        register("user_access", false);
+    }
+
+    @Test
+    void adminTokenCanReachAdminEndpoints() {
+        ResponseEntity<String> response = getCaches(login("admin_access"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void userTokenIsForbiddenOnAdminEndpoints() {
+        ResponseEntity<String> response = getCaches(login("user_access"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    void missingTokenIsUnauthorizedOnAdminEndpoints() {
+        ResponseEntity<String> response = getCaches(null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void anonymousPublicReadIsAllowed() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/posts", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private void register(String username, boolean admin) {
+        if (userRepository.existsByUsername(username)) {
+            return;
+        }
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword("secret123");
+        request.setFirstName("Test");
+        request.setLastName("User");
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/auth/register", request, String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        if (admin) {
+            User user = userRepository.findByUsername(username).orElseThrow();
+            user.setRole(User.Role.ROLE_ADMIN);
+            userRepository.save(user);
+        }
+    }
+
+    private String login(String username) {
+        LoginRequest request = new LoginRequest();
+        request.setUsername(username);
+        request.setPassword("secret123");
+        ResponseEntity<JwtResponse> response = restTemplate.postForEntity("/api/auth/login", request, JwtResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody().getToken();
+    }
+
+    private ResponseEntity<String> getCaches(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        return restTemplate.exchange("/api/admin/caches", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,165 @@
+package com.zxyspace.security;
+
+import com.zxyspace.model.User;
+import com.zxyspace.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 每个带令牌请求的认证开销：原过滤器（每次新建解析器解析4次令牌，再按用户名查库）
+// 对比单次解析（主体缓存未命中）和主体缓存命中。
+// 按生产环境的日志级别运行，开发配置的SQL输出和DEBUG日志会掩盖认证本身的耗时；
+// 使用自己的内存库（保留连接池，嵌入式测试库每次取连接都新建连接）。
+// 运行：mvn test -Pbenchmark -Dtest=AuthenticationBenchmarkTest
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:auth_benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.com.zxyspace=INFO"
+})
+class AuthenticationBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticationBenchmarkTest.class);
+
+    private static final int REQUESTS = 1000;
+    private static final int RUNS = 10;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+
+    private SecretKey signingKey;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        String username = "auth_bench_" + UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("secret123")
+                .firstName("Auth")
+                .lastName("Benchmark")
+                .role(User.Role.ROLE_USER)
+                .build());
+    }
+
+    @Test
+    void singleParseAndPrincipalCacheBeatPerRequestReparsing() {
+        // 每个请求一个不同的令牌（jti不同），缓存始终未命中；预热两次加正式运行各用一批
+        Iterator<String> coldTokens = tokens((RUNS + 2) * REQUESTS).iterator();
+        String warmToken = tokens(1).get(0);
+
+        double legacyMillis = medianMillis(() -> {
+            for (int i = 0; i < REQUESTS; i++) {
+                legacyAuthenticate(warmToken);
+            }
+        });
+        double coldMillis = medianMillis(() -> {
+            for (int i = 0; i < REQUESTS; i++) {
+                jwtTokenProvider.authenticate(coldTokens.next());
+            }
+        });
+        double warmMillis = medianMillis(() -> {
+            for (int i = 0; i < REQUESTS; i++) {
+                jwtTokenProvider.authenticate(warmToken);
+            }
+        });
+
+        logger.info("{} 次认证：原过滤器 {} ms（{} µs/次）；单次解析 {} ms（{} µs/次）；缓存命中 {} ms（{} µs/次）",
+                REQUESTS,
+                String.format("%.2f", legacyMillis), String.format("%.1f", legacyMillis * 1000 / REQUESTS),
+                String.format("%.2f", coldMillis), String.format("%.1f", coldMillis * 1000 / REQUESTS),
+                String.format("%.2f", warmMillis), String.format("%.1f", warmMillis * 1000 / REQUESTS));
+        assertThat(jwtTokenProvider.authenticate(warmToken).getId()).isEqualTo(user.getId());
+        assertThat(coldMillis).isLessThan(legacyMillis);
+        assertThat(warmMillis).isLessThan(coldMillis);
+    }
+
+    // 原过滤器的调用顺序：validateTokenFormat、getUsernameFromToken、loadUserByUsername、
+    // validateToken（主题和过期时间各解析一次），每次解析都新建解析器
+    private UserDetails legacyAuthenticate(String token) {
+        parse(token);
+        String username = parse(token).getSubject();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        boolean valid = parse(token).getSubject().equals(userDetails.getUsername())
+                && !parse(token).getExpiration().before(new Date());
+        assertThat(valid).isTrue();
+        return userDetails;
+    }
+
+    private Claims parse(String token) {
+        return Jwts.parserBuilder().setSigningKey(signingKey).build().parseClaimsJws(token).getBody();
+    }
+
+    // 与 generateToken 相同的声明，额外带一个随机jti使每个令牌互不相同
+    private List<String> tokens(int count) {
+        List<String> tokens = new ArrayList<>(count);
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtExpiration);
+        for (int i = 0; i < count; i++) {
+            tokens.add(Jwts.builder()
+                    .setSubject(user.getUsername())
+                    .claim("role", UserDetailsImpl.roleOf(UserDetailsImpl.authorityOf(user.getRole().name())))
+                    .claim("uid", user.getId())
+                    .setId(UUID.randomUUID().toString())
+                    .setIssuedAt(now)
+                    .setExpiration(expiryDate)
+                    .signWith(signingKey, SignatureAlgorithm.HS512)
+                    .compact());
+        }
+        return tokens;
+    }
+
+    // 先预热两次，再取多次运行耗时的中位数
+    private static double medianMillis(Runnable task) {
+        task.run();
+        task.run();
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2] / 1_000_000.0;
+    }
+}
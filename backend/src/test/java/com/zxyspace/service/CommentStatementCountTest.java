@@ -0,0 +1,192 @@
+package com.zxyspace.service;
+
+import com.zxyspace.dto.CommentCreateRequest;
+import com.zxyspace.dto.PostCreateRequest;
+import com.zxyspace.model.User;
+import com.zxyspace.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 评论接口（按控制器逐个对应到服务方法）的SQL语句数与文章/楼层/用户的评论数量无关。
+// 部分查询经由JdbcTemplate执行，Hibernate统计看不到，因此在JDBC连接上计数，且只统计测试线程发出的语句。
+// 独立的上下文使用自己的内存库：dev配置为create-drop，共用同名库会重建其他已缓存上下文正在使用的表
+@SpringBootTest
+@AutoConfigureTestDatabase
+class CommentStatementCountTest {
+
+    private static final int SMALL = 4;
+    private static final int LARGE = 12;
+
+    private static final AtomicInteger statements = new AtomicInteger();
+    private static volatile Thread measuredThread;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void readEndpointsUseConstantStatements() {
+        Fixture small = fixture(SMALL);
+        Fixture large = fixture(LARGE);
+
+        assertConstant(small, large, f -> commentService.getCommentById(f.rootId).getReplyCount());
+        assertConstant(small, large, f -> commentService.getReplyTree(f.rootId).getReplies().size());
+        assertConstant(small, large, f -> commentService.getThreadsByPostId(f.postId, null, 10, 3).getContent().size());
+        assertConstant(small, large, f -> commentService.getCommentsByPostId(f.postId).size());
+        assertConstant(small, large, f -> commentService.getCommentsByPostId(f.postId, 0, 10).getContent().size());
+        assertConstant(small, large, f -> commentService.getCommentsByPostIdAfter(f.postId, null, 10).getContent().size());
+        assertConstant(small, large, f -> commentService.getCommentsByUserId(f.userId, 0, 10).getContent().size());
+        assertConstant(small, large, f -> commentService.getLikeStatus(f.rootId, f.userId).getLikes());
+        assertConstant(small, large, f -> commentService.countCommentsByPostId(f.postId));
+    }
+
+    @Test
+    void writeEndpointsUseConstantStatements() {
+        Fixture small = fixture(SMALL);
+        Fixture large = fixture(LARGE);
+
+        assertConstant(small, large, f -> commentService.createComment(request(f.postId, null), f.postId, f.userId)
+                .getId().intValue());
+        assertConstant(small, large, f -> commentService.createComment(request(f.postId, f.rootId), f.postId, f.userId)
+                .getId().intValue());
+        assertConstant(small, large, f -> commentService.updateComment(f.leafId, "edited").getId().intValue());
+        assertConstant(small, large, f -> commentService.likeComment(f.rootId, f.userId).getLikes());
+        assertConstant(small, large, f -> commentService.unlikeComment(f.rootId, f.userId).getLikes());
+        // 删除带整棵回复子树的楼层
+        assertConstant(small, large, f -> {
+            commentService.deleteComment(f.rootId);
+            return 0;
+        });
+    }
+
+    // 同一接口分别作用于两种规模的数据，语句数相同且不为零
+    private static void assertConstant(Fixture small, Fixture large, ToIntFunction<Fixture> endpoint) {
+        int smallCount = count(small, endpoint);
+        int largeCount = count(large, endpoint);
+
+        assertThat(smallCount).isPositive();
+        assertThat(largeCount).isEqualTo(smallCount);
+    }
+
+    private static int count(Fixture fixture, ToIntFunction<Fixture> endpoint) {
+        statements.set(0);
+        measuredThread = Thread.currentThread();
+        try {
+            endpoint.applyAsInt(fixture);
+        } finally {
+            measuredThread = null;
+        }
+        return statements.get();
+    }
+
+    // 一篇文章：n个楼层，每个楼层n条回复，全部由同一用户发表
+    private Fixture fixture(int n) {
+        String username = "stmt_c_" + UUID.randomUUID().toString().substring(0, 8);
+        Long userId = userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("secret123")
+                .firstName("Comment")
+                .lastName("Statements")
+                .role(User.Role.ROLE_USER)
+                .build()).getId();
+        PostCreateRequest post = new PostCreateRequest();
+        post.setTitle("comment statements");
+        post.setContent("comment statements");
+        Long postId = postService.createPost(post, userId).getId();
+
+        List<Long> rootIds = new ArrayList<>();
+        Long leafId = null;
+        for (int i = 0; i < n; i++) {
+            Long rootId = commentService.createComment(request(postId, null), postId, userId).getId();
+            rootIds.add(rootId);
+            for (int j = 0; j < n; j++) {
+                leafId = commentService.createComment(request(postId, rootId), postId, userId).getId();
+            }
+        }
+        return new Fixture(postId, userId, rootIds.get(rootIds.size() - 1), leafId);
+    }
+
+    private static CommentCreateRequest request(Long postId, Long parentId) {
+        CommentCreateRequest request = new CommentCreateRequest();
+        request.setContent("comment");
+        request.setPostId(postId);
+        request.setParentId(parentId);
+        return request;
+    }
+
+    private record Fixture(Long postId, Long userId, Long rootId, Long leafId) {
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? countingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    private static DataSource countingDataSource(DataSource target) {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? countingConnection(connection) : result;
+        });
+    }
+
+    // 序列取值每分配一批ID执行一次，与数据规模无关，不计入
+    private static Connection countingConnection(Connection target) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            boolean statement = method.getName().startsWith("prepare") || method.getName().equals("createStatement");
+            if (statement && Thread.currentThread() == measuredThread
+                    && !(args != null && args[0] instanceof String sql
+                    && sql.toLowerCase(Locale.ROOT).contains("next value for"))) {
+                statements.incrementAndGet();
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.zxyspace.service;
+
+import com.zxyspace.dto.CommentCreateRequest;
+import com.zxyspace.dto.LikeResponse;
+import com.zxyspace.dto.PostCreateRequest;
+import com.zxyspace.model.User;
+import com.zxyspace.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 同一用户并发点赞（如双击）时，每个请求都返回已点赞，点赞记录和计数只增加一次
+@SpringBootTest
+class LikeConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int USERS = 10;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentPostLikesAreCountedOnce() throws Exception {
+        Long postId = createPost(createUser());
+
+        for (int i = 0; i < USERS; i++) {
+            Long userId = createUser();
+            for (LikeResponse response : concurrently(() -> postService.likePost(postId, userId))) {
+                assertThat(response.isLiked()).isTrue();
+            }
+        }
+
+        assertThat(count("SELECT COUNT(*) FROM post_likes WHERE post_id = ?", postId)).isEqualTo(USERS);
+        assertThat(count("SELECT likes FROM posts WHERE id = ?", postId)).isEqualTo(USERS);
+    }
+
+    @Test
+    void concurrentCommentLikesAreCountedOnce() throws Exception {
+        Long authorId = createUser();
+        Long postId = createPost(authorId);
+        CommentCreateRequest request = new CommentCreateRequest();
+        request.setContent("comment");
+        request.setPostId(postId);
+        Long commentId = commentService.createComment(request, postId, authorId).getId();
+
+        for (int i = 0; i < USERS; i++) {
+            Long userId = createUser();
+            for (LikeResponse response : concurrently(() -> commentService.likeComment(commentId, userId))) {
+                assertThat(response.isLiked()).isTrue();
+            }
+        }
+
+        assertThat(count("SELECT COUNT(*) FROM comment_likes WHERE comment_id = ?", commentId)).isEqualTo(USERS);
+        assertThat(count("SELECT likes FROM comments WHERE id = ?", commentId)).isEqualTo(USERS);
+    }
+
+    // 所有线程就绪后同时发起请求，任何一个抛出异常都会在get()时重新抛出
+    private static List<LikeResponse> concurrently(Supplier<LikeResponse> like) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<LikeResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return like.get();
+                }));
+            }
+            start.countDown();
+            List<LikeResponse> responses = new ArrayList<>();
+            for (Future<LikeResponse> future : futures) {
+                responses.add(future.get());
+            }
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long createUser() {
+        String username = "like_" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("secret123")
+                .firstName("Like")
+                .lastName("Test")
+                .role(User.Role.ROLE_USER)
+                .build()).getId();
+    }
+
+    private Long createPost(Long authorId) {
+        PostCreateRequest request = new PostCreateRequest();
+        request.setTitle("likes");
+        request.setContent("likes");
+        return postService.createPost(request, authorId).getId();
+    }
+
+    private int count(String sql, Long id) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, id);
+    }
+}
@@ -0,0 +1,136 @@
+package com.zxyspace.service;
+
+import com.zxyspace.dto.PostCreateRequest;
+import com.zxyspace.dto.PostFilter;
+import com.zxyspace.model.Category;
+import com.zxyspace.model.Tag;
+import com.zxyspace.model.User;
+import com.zxyspace.repository.CategoryRepository;
+import com.zxyspace.repository.TagRepository;
+import com.zxyspace.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 文章列表每页的SQL语句数与页大小无关：摘要、count和整页标签各一条，评论数来自文章行上的计数列。
+// 统计由整个SessionFactory共享，因此调大首页快照的重建间隔，避免后台重建在测试期间读取文章列表；
+// 属性不同即为独立的上下文，使用自己的内存库，以免create-drop重建其他上下文正在使用的表
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "posts.home.rebuild-interval-ms=3600000"
+})
+@AutoConfigureTestDatabase
+class PostListStatementCountTest {
+
+    private static final int POSTS = 12;
+    private static final int SMALL_PAGE = 2;
+    private static final int LARGE_PAGE = 10;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long authorId;
+    private Long categoryId;
+    private Long tagId;
+    private String keyword;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        keyword = "stmt" + suffix;
+        authorId = userRepository.save(User.builder()
+                .username("stmt_" + suffix)
+                .email("stmt_" + suffix + "@example.com")
+                .password("secret123")
+                .firstName("Statement")
+                .lastName("Count")
+                .role(User.Role.ROLE_USER)
+                .build()).getId();
+        categoryId = categoryRepository.save(Category.builder().name("stmt_" + suffix).build()).getId();
+        tagId = tagRepository.save(Tag.builder().name("stmt_a_" + suffix).build()).getId();
+        Long otherTagId = tagRepository.save(Tag.builder().name("stmt_b_" + suffix).build()).getId();
+
+        for (int i = 0; i < POSTS; i++) {
+            PostCreateRequest request = new PostCreateRequest();
+            request.setTitle(keyword + " " + i);
+            request.setContent("statement count");
+            request.setCategoryId(categoryId);
+            request.setTagIds(Set.of(tagId, otherTagId));
+            postService.createPost(request, authorId);
+        }
+    }
+
+    @Test
+    void offsetListsUseConstantStatements() {
+        assertConstant(size -> postService.getAllPosts(filter(size)).getContent().size());
+        assertConstant(size -> postService.getPostsByAuthor(authorId, filter(size)).getContent().size());
+        assertConstant(size -> postService.getPostsByCategory(categoryId, filter(size)).getContent().size());
+        assertConstant(size -> postService.getPostsByTag(tagId, filter(size)).getContent().size());
+        assertConstant(size -> postService.searchPosts(keyword, filter(size)).getContent().size());
+    }
+
+    @Test
+    void cursorListsUseConstantStatements() {
+        assertConstant(size -> postService.getAllPosts(cursorFilter(size)).getContent().size());
+        assertConstant(size -> postService.getPostsByAuthor(authorId, cursorFilter(size)).getContent().size());
+        assertConstant(size -> postService.getPostsByCategory(categoryId, cursorFilter(size)).getContent().size());
+        assertConstant(size -> postService.getPostsByTag(tagId, cursorFilter(size)).getContent().size());
+    }
+
+    @Test
+    void rankedListsUseConstantStatements() {
+        assertConstant(size -> postService.getRecentPosts(size).size());
+        assertConstant(size -> postService.getPopularPosts(size).size());
+    }
+
+    // 分别以两种页大小读取一页，两次执行的语句数相同且都返回满页
+    private void assertConstant(IntFunction<Integer> listing) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        assertThat(listing.apply(SMALL_PAGE)).isEqualTo(SMALL_PAGE);
+        long small = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        assertThat(listing.apply(LARGE_PAGE)).isEqualTo(LARGE_PAGE);
+        long large = statistics.getPrepareStatementCount();
+
+        assertThat(small).isPositive();
+        assertThat(large).isEqualTo(small);
+    }
+
+    private static PostFilter filter(int size) {
+        PostFilter filter = new PostFilter();
+        filter.setSize(size);
+        return filter;
+    }
+
+    private static PostFilter cursorFilter(int size) {
+        PostFilter filter = filter(size);
+        filter.setPagination("cursor");
+        return filter;
+    }
+}